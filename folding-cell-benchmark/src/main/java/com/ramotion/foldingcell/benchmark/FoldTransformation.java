@@ -0,0 +1,56 @@
+package com.ramotion.foldingcell.benchmark;
+
+import com.ramotion.foldingcell.animations.RotationMatrixTable;
+
+/**
+ * Pure JVM stand-in for FoldAnimation, same computation as FoldAnimation.applyTransformation()
+ * with {@link Matrix3} instead of android.graphics.Camera and android.graphics.Matrix
+ */
+public class FoldTransformation {
+
+    private final float mFromDegrees;
+    private final float mToDegrees;
+    private final float mCenterX;
+    private final float mCenterY;
+    private RotationMatrixTable mRotationTable;
+    private float[] mMatrixValues;
+
+    /**
+     * @param fromDegrees start rotation
+     * @param toDegrees   end rotation
+     * @param width       width of animated view
+     * @param centerY     pivot of rotation, 0 for top edge or height of view for bottom edge
+     */
+    public FoldTransformation(float fromDegrees, float toDegrees, int width, float centerY) {
+        this.mFromDegrees = fromDegrees;
+        this.mToDegrees = toDegrees;
+        this.mCenterX = width / 2;
+        this.mCenterY = centerY;
+    }
+
+    /**
+     * Same as FoldAnimation.withRotationTable()
+     */
+    public FoldTransformation withRotationTable(RotationMatrixTable rotationTable) {
+        this.mRotationTable = rotationTable;
+        this.mMatrixValues = (rotationTable != null) ? new float[RotationMatrixTable.MATRIX_SIZE] : null;
+        return this;
+    }
+
+    public void applyTransformation(float interpolatedTime, Matrix3 matrix) {
+        final float fromDegrees = mFromDegrees;
+        final float degrees = fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
+
+        if (mRotationTable != null) {
+            mRotationTable.getMatrixValues(degrees, mCenterX, mCenterY, mMatrixValues);
+            matrix.setValues(mMatrixValues);
+            return;
+        }
+
+        matrix.setCameraRotateX(degrees);
+
+        matrix.preTranslate(-mCenterX, -mCenterY);
+        matrix.postTranslate(mCenterX, mCenterY);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.ramotion.foldingcell.benchmark;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix computation of one animation frame, FoldAnimation.applyTransformation() for every part,
+ * and angles of all parts computed by {@link FoldTimeline} for same frame
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FoldTransformationBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final int PART_HEIGHT = 250;
+
+    @Param({"2", "4", "8"})
+    public int partsCount;
+
+    private FoldTransformation[] mTransformations;
+    private Matrix3 mMatrix;
+    private FoldTimeline mTimeline;
+    private float mTime;
+
+    @Setup
+    public void setup() {
+        // parts unfold down around top edge, front views unfold up around bottom edge
+        mTransformations = new FoldTransformation[partsCount * 2];
+        for (int i = 0; i < partsCount; i++) {
+            mTransformations[i * 2] = new FoldTransformation(90, 0, WIDTH, 0);
+            mTransformations[i * 2 + 1] = new FoldTransformation(0, -90, WIDTH, PART_HEIGHT);
+        }
+        mMatrix = new Matrix3();
+        int[] partHeights = new int[partsCount];
+        for (int i = 0; i < partsCount; i++)
+            partHeights[i] = PART_HEIGHT;
+        mTimeline = new FoldTimeline(partHeights, true);
+    }
+
+    /**
+     * Next interpolated time, so rotation is not constant for JIT
+     */
+    private float nextTime() {
+        mTime += 0.013f;
+        if (mTime > 1) mTime -= 1;
+        return mTime;
+    }
+
+    @Benchmark
+    public void applyTransformation(Blackhole blackhole) {
+        final float time = nextTime();
+        final Matrix3 matrix = mMatrix;
+        for (FoldTransformation transformation : mTransformations) {
+            transformation.applyTransformation(time, matrix);
+            blackhole.consume(matrix.getValue(7));
+        }
+    }
+
+    @Benchmark
+    public void timelineAngles(Blackhole blackhole) {
+        final float progress = nextTime();
+        final FoldTimeline timeline = mTimeline;
+        for (int i = 0; i < partsCount; i++) {
+            blackhole.consume(timeline.getPartAngle(i, progress));
+            blackhole.consume(timeline.getFrontAngle(i, progress));
+        }
+        blackhole.consume(timeline.getHeight(progress));
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.ramotion.foldingcell.benchmark;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Division of content view to animation parts, FoldingCell.calculateHeightsForAnimationParts()
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HeightsCalculationBenchmark {
+
+    /**
+     * Title view height : content view height : additional flips count
+     */
+    @Param({"100:200:0", "100:1030:0", "100:1030:9", "250:2500:0", "250:2500:8", "50:5000:0"})
+    public String cellSize;
+
+    private int mTitleHeight;
+    private int mContentHeight;
+    private int mAdditionalFlips;
+    private int[] mReuseBuffer;
+
+    @Setup
+    public void setup() {
+        String[] values = cellSize.split(":");
+        mTitleHeight = Integer.parseInt(values[0]);
+        mContentHeight = Integer.parseInt(values[1]);
+        mAdditionalFlips = Integer.parseInt(values[2]);
+        mReuseBuffer = FoldTimeline.calculatePartHeights(mTitleHeight, mContentHeight, mAdditionalFlips, null);
+    }
+
+    @Benchmark
+    public int[] newArray() {
+        return FoldTimeline.calculatePartHeights(mTitleHeight, mContentHeight, mAdditionalFlips, null);
+    }
+
+    @Benchmark
+    public int[] reuseBuffer() {
+        return FoldTimeline.calculatePartHeights(mTitleHeight, mContentHeight, mAdditionalFlips, mReuseBuffer);
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.ramotion.foldingcell.benchmark;
+
+/**
+ * Pure JVM stand-in for android.graphics.Matrix and android.graphics.Camera,
+ * same 3x3 perspective matrix that Camera gives for rotation around X axis
+ */
+public class Matrix3 {
+
+    // default camera location of android.graphics.Camera: -8 inches, 72 pixels per inch
+    private static final float CAMERA_DISTANCE = 8 * 72;
+
+    private final float[] mValues = new float[9];
+    private final float[] mTemp = new float[9];
+
+    public Matrix3() {
+        reset();
+    }
+
+    public void reset() {
+        final float[] v = mValues;
+        v[0] = 1; v[1] = 0; v[2] = 0;
+        v[3] = 0; v[4] = 1; v[5] = 0;
+        v[6] = 0; v[7] = 0; v[8] = 1;
+    }
+
+    /**
+     * Same as Camera.save(), Camera.rotateX(degrees), Camera.getMatrix(matrix), Camera.restore()
+     */
+    public void setCameraRotateX(float degrees) {
+        final double radians = Math.toRadians(degrees);
+        final float sin = (float) Math.sin(radians);
+        final float cos = (float) Math.cos(radians);
+        final float[] v = mValues;
+        v[0] = 1; v[1] = 0; v[2] = 0;
+        v[3] = 0; v[4] = cos; v[5] = 0;
+        v[6] = 0; v[7] = sin / CAMERA_DISTANCE; v[8] = 1;
+    }
+
+    /**
+     * this = this * T(dx, dy)
+     */
+    public void preTranslate(float dx, float dy) {
+        final float[] t = mTemp;
+        t[0] = 1; t[1] = 0; t[2] = dx;
+        t[3] = 0; t[4] = 1; t[5] = dy;
+        t[6] = 0; t[7] = 0; t[8] = 1;
+        concat(mValues, t, mValues);
+    }
+
+    /**
+     * this = T(dx, dy) * this
+     */
+    public void postTranslate(float dx, float dy) {
+        final float[] t = mTemp;
+        t[0] = 1; t[1] = 0; t[2] = dx;
+        t[3] = 0; t[4] = 1; t[5] = dy;
+        t[6] = 0; t[7] = 0; t[8] = 1;
+        concat(t, mValues, mValues);
+    }
+
+    public float getValue(int index) {
+        return mValues[index];
+    }
+
+    public void getValues(float[] values) {
+        System.arraycopy(mValues, 0, values, 0, values.length);
+    }
+
+    public void setValues(float[] values) {
+        System.arraycopy(values, 0, mValues, 0, mValues.length);
+    }
+
+    private static void concat(float[] a, float[] b, float[] result) {
+        float r0 = a[0] * b[0] + a[1] * b[3] + a[2] * b[6];
+        float r1 = a[0] * b[1] + a[1] * b[4] + a[2] * b[7];
+        float r2 = a[0] * b[2] + a[1] * b[5] + a[2] * b[8];
+        float r3 = a[3] * b[0] + a[4] * b[3] + a[5] * b[6];
+        float r4 = a[3] * b[1] + a[4] * b[4] + a[5] * b[7];
+        float r5 = a[3] * b[2] + a[4] * b[5] + a[5] * b[8];
+        float r6 = a[6] * b[0] + a[7] * b[3] + a[8] * b[6];
+        float r7 = a[6] * b[1] + a[7] * b[4] + a[8] * b[7];
+        float r8 = a[6] * b[2] + a[7] * b[5] + a[8] * b[8];
+        result[0] = r0; result[1] = r1; result[2] = r2;
+        result[3] = r3; result[4] = r4; result[5] = r5;
+        result[6] = r6; result[7] = r7; result[8] = r8;
+    }
+
+}
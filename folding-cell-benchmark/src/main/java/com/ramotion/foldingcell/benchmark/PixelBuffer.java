@@ -0,0 +1,44 @@
+package com.ramotion.foldingcell.benchmark;
+
+/**
+ * Pure JVM stand-in for android.graphics.Bitmap with ARGB_8888 pixels
+ */
+public class PixelBuffer {
+
+    private final int mWidth;
+    private final int mHeight;
+    private final int[] mPixels;
+
+    public PixelBuffer(int width, int height) {
+        if (width <= 0 || height <= 0)
+            throw new IllegalArgumentException("Width and height must be positive");
+        this.mWidth = width;
+        this.mHeight = height;
+        this.mPixels = new int[width * height];
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    public int[] getPixels() {
+        return mPixels;
+    }
+
+    /**
+     * Same as drawing region of this bitmap to canvas of target bitmap with same width
+     *
+     * @param top    top of region
+     * @param target target with width of this buffer and height of region
+     */
+    public void copyRegion(int top, PixelBuffer target) {
+        if (target.mWidth != mWidth || top < 0 || top + target.mHeight > mHeight)
+            throw new IllegalArgumentException("Region is out of buffer bounds");
+        System.arraycopy(mPixels, top * mWidth, target.mPixels, 0, target.mWidth * target.mHeight);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ramotion.foldingcell.benchmark;
+
+/**
+ * Pure JVM stand-in for BitmapRegionDrawable, part of animation that refers to region of shared snapshot
+ */
+public class PixelRegion {
+
+    private final PixelBuffer mBuffer;
+    private final int mTop;
+    private final int mHeight;
+
+    public PixelRegion(PixelBuffer buffer, int top, int height) {
+        if (top < 0 || height < 0 || top + height > buffer.getHeight())
+            throw new IllegalArgumentException("Region is out of buffer bounds");
+        this.mBuffer = buffer;
+        this.mTop = top;
+        this.mHeight = height;
+    }
+
+    public PixelBuffer getBuffer() {
+        return mBuffer;
+    }
+
+    public int getTop() {
+        return mTop;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+}
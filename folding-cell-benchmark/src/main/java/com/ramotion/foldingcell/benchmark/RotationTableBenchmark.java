@@ -0,0 +1,104 @@
+package com.ramotion.foldingcell.benchmark;
+
+import com.ramotion.foldingcell.animations.RotationMatrixTable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per frame cost of rotation matrices for all parts: live camera computation against
+ * interpolation from {@link RotationMatrixTable}, and one time cost of table building
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RotationTableBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final int PART_HEIGHT = 250;
+
+    private static final RotationMatrixTable.Source MATRIX3_SOURCE = new RotationMatrixTable.Source() {
+        private final Matrix3 mMatrix = new Matrix3();
+
+        @Override
+        public void getRotationMatrix(float degrees, float[] values) {
+            mMatrix.setCameraRotateX(degrees);
+            mMatrix.getValues(values);
+        }
+    };
+
+    @Param({"2", "8", "16"})
+    public int partsCount;
+
+    private FoldTransformation[] mLiveTransformations;
+    private FoldTransformation[] mTableTransformations;
+    private Matrix3 mMatrix;
+    private float mTime;
+
+    @Setup
+    public void setup() {
+        RotationMatrixTable table = new RotationMatrixTable(RotationMatrixTable.DEFAULT_STEP_DEGREES, MATRIX3_SOURCE);
+        mLiveTransformations = createTransformations(null);
+        mTableTransformations = createTransformations(table);
+        mMatrix = new Matrix3();
+    }
+
+    private FoldTransformation[] createTransformations(RotationMatrixTable table) {
+        // each part rotates itself around top edge and its front view around bottom edge
+        FoldTransformation[] transformations = new FoldTransformation[partsCount * 2];
+        for (int i = 0; i < partsCount; i++) {
+            transformations[i * 2] = new FoldTransformation(90, 0, WIDTH, 0).withRotationTable(table);
+            transformations[i * 2 + 1] = new FoldTransformation(0, -90, WIDTH, PART_HEIGHT).withRotationTable(table);
+        }
+        return transformations;
+    }
+
+    /**
+     * Next interpolated time, so rotation is not constant for JIT
+     */
+    private float nextTime() {
+        mTime += 0.013f;
+        if (mTime > 1) mTime -= 1;
+        return mTime;
+    }
+
+    private void applyAll(FoldTransformation[] transformations, Blackhole blackhole) {
+        final float time = nextTime();
+        final Matrix3 matrix = mMatrix;
+        for (FoldTransformation transformation : transformations) {
+            transformation.applyTransformation(time, matrix);
+            blackhole.consume(matrix.getValue(7));
+        }
+    }
+
+    @Benchmark
+    public void liveCamera(Blackhole blackhole) {
+        applyAll(mLiveTransformations, blackhole);
+    }
+
+    @Benchmark
+    public void table(Blackhole blackhole) {
+        applyAll(mTableTransformations, blackhole);
+    }
+
+    @Benchmark
+    public RotationMatrixTable buildTable() {
+        return new RotationMatrixTable(RotationMatrixTable.DEFAULT_STEP_DEGREES, MATRIX3_SOURCE);
+    }
+
+}
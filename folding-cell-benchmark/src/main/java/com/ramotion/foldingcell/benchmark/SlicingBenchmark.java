@@ -0,0 +1,76 @@
+package com.ramotion.foldingcell.benchmark;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slicing loop of FoldingCell.prepareViewsForAnimation(): copy of content snapshot region for each part
+ * (zero copy slicing disabled) against regions of shared snapshot (zero copy slicing enabled)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SlicingBenchmark {
+
+    private static final int WIDTH = 1080;
+
+    /**
+     * Title view height : content view height
+     */
+    @Param({"250:500", "250:1000", "250:2500"})
+    public String cellSize;
+
+    private int[] mPartHeights;
+    private PixelBuffer mContentSnapshot;
+    private PixelBuffer[] mPartBuffers;
+
+    @Setup
+    public void setup() {
+        String[] values = cellSize.split(":");
+        int titleHeight = Integer.parseInt(values[0]);
+        int contentHeight = Integer.parseInt(values[1]);
+        mPartHeights = FoldTimeline.calculatePartHeights(titleHeight, contentHeight, 0, null);
+        mContentSnapshot = new PixelBuffer(WIDTH, contentHeight);
+        // part bitmaps are taken from pool in library, so allocation is not measured
+        mPartBuffers = new PixelBuffer[mPartHeights.length];
+        for (int i = 0; i < mPartHeights.length; i++)
+            mPartBuffers[i] = new PixelBuffer(WIDTH, mPartHeights[i]);
+    }
+
+    @Benchmark
+    public void copySlices(Blackhole blackhole) {
+        int yOffset = 0;
+        for (int i = 0; i < mPartHeights.length; i++) {
+            mContentSnapshot.copyRegion(yOffset, mPartBuffers[i]);
+            blackhole.consume(mPartBuffers[i]);
+            yOffset += mPartHeights[i];
+        }
+    }
+
+    @Benchmark
+    public void regionSlices(Blackhole blackhole) {
+        int yOffset = 0;
+        for (int i = 0; i < mPartHeights.length; i++) {
+            blackhole.consume(new PixelRegion(mContentSnapshot, yOffset, mPartHeights[i]));
+            yOffset += mPartHeights[i];
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.ramotion.foldingcell.examples.simple;
+
+import android.os.Build;
+import android.test.ActivityInstrumentationTestCase2;
+import android.util.Log;
+import android.view.ViewTreeObserver;
+
+import com.ramotion.foldingcell.FoldingCell;
+
+/**
+ * Counts layout passes of whole window during fold and unfold of cell
+ * with per frame height animation and with layout free height animation
+ */
+public class LayoutPassesBenchmark extends ActivityInstrumentationTestCase2<MainActivity> {
+
+    private static final String TAG = "folding-cell-benchmark";
+
+    // default animation duration of cell plus time for last frames
+    private static final int TOGGLE_WAIT_TIME = 1000 + 500;
+
+    public LayoutPassesBenchmark() {
+        super(MainActivity.class);
+    }
+
+    public void testLayoutPassesPerToggle() throws Throwable {
+        FoldingCell cell = (FoldingCell) getActivity().findViewById(R.id.folding_cell);
+        getInstrumentation().waitForIdleSync();
+
+        int perFrameUnfold = countLayoutPasses(cell, false);
+        int perFrameFold = countLayoutPasses(cell, false);
+        int layoutFreeUnfold = countLayoutPasses(cell, true);
+        int layoutFreeFold = countLayoutPasses(cell, true);
+
+        Log.i(TAG, "Layout passes per toggle with per frame height animation: unfold " + perFrameUnfold + ", fold " + perFrameFold);
+        Log.i(TAG, "Layout passes per toggle with layout free height animation: unfold " + layoutFreeUnfold + ", fold " + layoutFreeFold);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            assertTrue(layoutFreeUnfold < perFrameUnfold);
+            assertTrue(layoutFreeFold < perFrameFold);
+        }
+    }
+
+    /**
+     * Toggle cell with selected height animation and count layout passes until animation ends
+     */
+    private int countLayoutPasses(final FoldingCell cell, final boolean layoutFree) throws Throwable {
+        final int[] layoutPasses = new int[1];
+        final ViewTreeObserver.OnGlobalLayoutListener layoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+            @Override
+            public void onGlobalLayout() {
+                layoutPasses[0]++;
+            }
+        };
+
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                cell.setLayoutFreeHeightAnimation(layoutFree);
+                cell.getViewTreeObserver().addOnGlobalLayoutListener(layoutListener);
+                cell.toggle(false);
+            }
+        });
+        Thread.sleep(TOGGLE_WAIT_TIME);
+        getInstrumentation().waitForIdleSync();
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                cell.getViewTreeObserver().removeOnGlobalLayoutListener(layoutListener);
+            }
+        });
+        return layoutPasses[0];
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.ramotion.foldingcell.examples.simple;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.test.ActivityInstrumentationTestCase2;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import com.ramotion.foldingcell.FoldingCell;
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+/**
+ * Software check of render modes: compares frames of fold animation drawn from bitmaps of title and content views
+ * with frames drawn from live views of hardware layer mode. Both are drawn to software canvas, so only
+ * geometry of parts is compared on any device. Rendering to hardware layers and the choice between
+ * hardware layer mode and bitmap slicing are not covered by this test.
+ */
+public class SoftwareRenderModesTest extends ActivityInstrumentationTestCase2<MainActivity> {
+
+    private static final int WIDTH = 480;
+    private static final int TITLE_HEIGHT = 100;
+    private static final int CONTENT_BLOCKS = 3;
+
+    // allowed difference of color channel, bitmaps of rotated parts are filtered
+    private static final int CHANNEL_TOLERANCE = 8;
+    // allowed part of pixels that differ more than tolerance, edges of rotated parts
+    private static final float MAX_DIFFERENT_PIXELS = 0.01f;
+
+    public SoftwareRenderModesTest() {
+        super(MainActivity.class);
+    }
+
+    public void testLiveViewsMatchBitmapsInSoftwareCanvas() throws Throwable {
+        final FrameRenderingCell cell = new FrameRenderingCell(getActivity());
+        final float[] progressValues = {0, 0.2f, 0.45f, 0.7f, 1};
+        final Bitmap[] bitmapFrames = new Bitmap[progressValues.length];
+        final Bitmap[] liveFrames = new Bitmap[progressValues.length];
+        runTestOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < progressValues.length; i++) {
+                    bitmapFrames[i] = cell.renderFrame(false, progressValues[i]);
+                    liveFrames[i] = cell.renderFrame(true, progressValues[i]);
+                }
+            }
+        });
+
+        for (int i = 0; i < progressValues.length; i++) {
+            assertEquals(bitmapFrames[i].getHeight(), liveFrames[i].getHeight());
+            float differentPixels = differentPixelsPart(bitmapFrames[i], liveFrames[i]);
+            assertTrue("Frames differ at progress " + progressValues[i] + ": " + differentPixels,
+                    differentPixels <= MAX_DIFFERENT_PIXELS);
+        }
+    }
+
+    private static float differentPixelsPart(Bitmap expected, Bitmap actual) {
+        int different = 0;
+        int[] expectedRow = new int[expected.getWidth()];
+        int[] actualRow = new int[actual.getWidth()];
+        for (int y = 0; y < expected.getHeight(); y++) {
+            expected.getPixels(expectedRow, 0, expectedRow.length, 0, y, expectedRow.length, 1);
+            actual.getPixels(actualRow, 0, actualRow.length, 0, y, actualRow.length, 1);
+            for (int x = 0; x < expectedRow.length; x++)
+                if (!similarColors(expectedRow[x], actualRow[x]))
+                    different++;
+        }
+        return (float) different / (expected.getWidth() * expected.getHeight());
+    }
+
+    private static boolean similarColors(int expected, int actual) {
+        return Math.abs(Color.alpha(expected) - Color.alpha(actual)) <= CHANNEL_TOLERANCE
+                && Math.abs(Color.red(expected) - Color.red(actual)) <= CHANNEL_TOLERANCE
+                && Math.abs(Color.green(expected) - Color.green(actual)) <= CHANNEL_TOLERANCE
+                && Math.abs(Color.blue(expected) - Color.blue(actual)) <= CHANNEL_TOLERANCE;
+    }
+
+    /**
+     * Cell with text content that draws single frame of unfold animation to bitmap by software canvas
+     */
+    private static class FrameRenderingCell extends FoldingCell {
+
+        FrameRenderingCell(Context context) {
+            super(context);
+            LinearLayout contentView = new LinearLayout(context);
+            contentView.setOrientation(LinearLayout.VERTICAL);
+            int[] colors = {Color.rgb(0x4C, 0xAF, 0x50), Color.rgb(0xFF, 0x98, 0x00), Color.rgb(0x3F, 0x51, 0xB5)};
+            for (int i = 0; i < CONTENT_BLOCKS; i++)
+                contentView.addView(createTextView(context, "Content block " + i, colors[i]));
+            addView(contentView);
+            addView(createTextView(context, "Title", Color.rgb(0x9C, 0x27, 0xB0)));
+        }
+
+        private static TextView createTextView(Context context, String text, int color) {
+            TextView textView = new TextView(context);
+            textView.setText(text);
+            textView.setTextColor(Color.WHITE);
+            textView.setBackgroundColor(color);
+            textView.setLayoutParams(new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, TITLE_HEIGHT));
+            return textView;
+        }
+
+        Bitmap renderFrame(boolean liveViews, float progress) {
+            View contentView = getChildAt(0);
+            View titleView = getChildAt(1);
+            Bitmap titleBitmap = null;
+            Bitmap contentBitmap = null;
+            if (liveViews) {
+                measureAndLayoutView(titleView, WIDTH);
+                measureAndLayoutView(contentView, WIDTH);
+            } else {
+                titleBitmap = getBitmapFromView(titleView, WIDTH);
+                contentBitmap = getBitmapFromView(contentView, WIDTH);
+            }
+
+            int[] partHeights = calculateHeightsForAnimationParts(titleView.getHeight(), contentView.getHeight(), 0, null);
+            FoldTimeline timeline = new FoldTimeline(partHeights, true);
+            ViewGroup animationView = liveViews
+                    ? createLiveAnimationView(timeline, titleView, contentView)
+                    : (ViewGroup) createAnimationView(timeline, titleBitmap, contentBitmap, null);
+            animationView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED));
+            animationView.layout(0, 0, animationView.getMeasuredWidth(), animationView.getMeasuredHeight());
+            createPartsTarget(timeline, animationView).onFoldProgress(progress);
+
+            Bitmap frame = Bitmap.createBitmap(WIDTH, timeline.getTotalHeight(), Bitmap.Config.ARGB_8888);
+            animationView.draw(new Canvas(frame));
+            releaseAnimationBitmaps();
+            return frame;
+        }
+
+    }
+
+}
@@ -1,50 +1,177 @@
 package com.ramotion.foldingcell;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Picture;
 import android.graphics.Rect;
+import android.os.AsyncTask;
+import android.os.Build;
 import android.util.AttributeSet;
+import android.view.Display;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.animation.Animation;
-import android.view.animation.DecelerateInterpolator;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
-import android.widget.RelativeLayout;
 
+import com.ramotion.foldingcell.animations.CameraRotationSource;
 import com.ramotion.foldingcell.animations.AnimationEndListener;
-import com.ramotion.foldingcell.animations.FoldAnimation;
-import com.ramotion.foldingcell.animations.HeightAnimation;
+import com.ramotion.foldingcell.animations.FoldAnimator;
+import com.ramotion.foldingcell.animations.FoldFrameScheduler;
+import com.ramotion.foldingcell.animations.FoldTimeline;
+import com.ramotion.foldingcell.animations.RotationMatrixTable;
+import com.ramotion.foldingcell.animations.VisibleHeight;
+import com.ramotion.foldingcell.metrics.FoldMetrics;
+import com.ramotion.foldingcell.metrics.FoldMetricsSink;
+import com.ramotion.foldingcell.metrics.FoldTrace;
+import com.ramotion.foldingcell.pools.BitmapPool;
+import com.ramotion.foldingcell.pools.FoldViewPool;
+import com.ramotion.foldingcell.views.BitmapRegionDrawable;
+import com.ramotion.foldingcell.views.FoldingCellRendererView;
 import com.ramotion.foldingcell.views.FoldingCellView;
+import com.ramotion.foldingcell.views.StackLayout;
+import com.ramotion.foldingcell.views.ViewRegionView;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Very first implementation of Folding Cell by Ramotion for Android platform
  * TODO: Update javadoc
  */
-public class FoldingCell extends RelativeLayout {
+public class FoldingCell extends StackLayout implements SnapshotRenderTask.Callback {
+
+    /**
+     * Ways to display animation parts
+     */
+    public enum RenderMode {
+        // container with FoldingCellView for each part, parts are rotated as views
+        VIEW_HIERARCHY,
+        // one FoldingCellRendererView that draws all parts itself
+        SINGLE_VIEW,
+        // container with FoldingCellView for each part, parts draw live title and content views
+        // to hardware layers instead of bitmaps, VIEW_HIERARCHY is used if window is not hardware accelerated
+        HARDWARE_LAYER
+    }
+
+    /**
+     * Receiver of fold and unfold animation lifecycle events, called on UI thread.
+     * Instant state changes with skipAnimation do not produce events.
+     */
+    public interface FoldListener {
+        void onUnfoldStart(FoldingCell cell);
+
+        void onUnfoldEnd(FoldingCell cell);
+
+        void onFoldStart(FoldingCell cell);
+
+        void onFoldEnd(FoldingCell cell);
+
+        /**
+         * Running animation is reversed, start event of opposite animation follows
+         */
+        void onCancel(FoldingCell cell);
+    }
+
+    /**
+     * Empty implementation of {@link FoldListener}, override only required events
+     */
+    public static class FoldListenerAdapter implements FoldListener {
+        @Override
+        public void onUnfoldStart(FoldingCell cell) {
+        }
+
+        @Override
+        public void onUnfoldEnd(FoldingCell cell) {
+        }
+
+        @Override
+        public void onFoldStart(FoldingCell cell) {
+        }
+
+        @Override
+        public void onFoldEnd(FoldingCell cell) {
+        }
+
+        @Override
+        public void onCancel(FoldingCell cell) {
+        }
+    }
 
     private final String TAG = "folding-cell";
 
+    // names of async trace sections spanning whole animation
+    private static final String TRACE_SECTION_UNFOLD = "FoldingCell.unfold";
+    private static final String TRACE_SECTION_FOLD = "FoldingCell.fold";
+
+    private static final int NO_ANIMATION_HEIGHT = -1;
+
     // state variables
     private boolean mUnfolded;
     private boolean mAnimationInProgress;
+    private FoldAnimator mFoldAnimator;
+    private FoldAnimator mSharedClock;
+    // height of cell in layout during animation, cell is measured from its state without animation
+    private int mAnimationHeight = NO_ANIMATION_HEIGHT;
+    private int mLastAnimationFramesCount;
+
+    // lifecycle listeners and timings of current animation
+    private final ArrayList<FoldListener> mFoldListeners = new ArrayList<>();
+    private FoldMetricsSink mMetricsSink;
+    private FoldMetrics mFoldMetrics;
+    private String mTraceSectionName;
 
     // default values
     private final int DEF_ANIMATION_DURATION = 1000;
     private final int DEF_BACK_SIDE_COLOR = Color.GRAY;
     private final int DEF_ADDITIONAL_FLIPS = 0;
+    private final Bitmap.Config DEF_SNAPSHOT_CONFIG = Bitmap.Config.ARGB_8888;
+    private final float DEF_SNAPSHOT_SCALE = 1f;
 
     // current settings
     private int mAnimationDuration = DEF_ANIMATION_DURATION;
     private int mBackSideColor = DEF_BACK_SIDE_COLOR;
     private int mAdditionalFlipsCount = DEF_ADDITIONAL_FLIPS;
+    private Bitmap.Config mSnapshotConfig = DEF_SNAPSHOT_CONFIG;
+    private float mSnapshotScale = DEF_SNAPSHOT_SCALE;
+    private boolean mZeroCopySlicing = true;
+    private boolean mProgressiveRasterization = true;
+    private RenderMode mRenderMode = RenderMode.VIEW_HIERARCHY;
+    private boolean mLayoutFreeHeightAnimation;
+    private RotationMatrixTable mRotationTable;
+
+    // bitmaps are borrowed from pool for animation and returned when animation ends
+    private BitmapPool mBitmapPool = BitmapPool.getDefault();
+    private final ArrayList<Bitmap> mAnimationBitmaps = new ArrayList<>();
+
+    // views of animation scaffold are reused between animations
+    private FoldViewPool mViewPool = new FoldViewPool();
+
+    // heights of animation parts, reused between animations
+    private int[] mPartHeights;
+
+    // snapshots of content (index 0) and title (index 1) views with content version they were taken for
+    private boolean mSnapshotCacheEnabled;
+    private int mContentVersion;
+    // animation view is not removed from hierarchy while detach is dispatched to cell
+    private boolean mDetaching;
+    private final Bitmap[] mSnapshots = new Bitmap[2];
+    private final int[] mSnapshotVersions = new int[2];
+
+    // measured heights of content (index 0) and title (index 1) views with width and content version they were measured for
+    private final int[] mMeasuredHeights = new int[2];
+    private final int[] mMeasuredWidths = new int[2];
+    private final int[] mMeasuredVersions = new int[2];
+
+    // background rasterization of snapshots
+    private Executor mSnapshotExecutor = AsyncTask.THREAD_POOL_EXECUTOR;
+    private SnapshotRenderTask mSnapshotRenderTask;
 
     public FoldingCell(Context context, AttributeSet attrs) {
         super(context, attrs);
@@ -80,12 +207,390 @@ public class FoldingCell extends RelativeLayout {
     }
 
     /**
-     * Unfold cell with (or without) animation
+     * Initializes folding cell programmatically with custom settings and snapshot quality
+     *
+     * @param animationDuration    animation duration, default is 1000
+     * @param backSideColor        color of back side, default is android.graphics.Color.GREY (0xFF888888)
+     * @param additionalFlipsCount count of additional flips (after first one), set 0 for auto
+     * @param snapshotConfig       config of snapshot bitmaps, see {@link #setSnapshotConfig(Bitmap.Config)}
+     * @param snapshotScale        scale of snapshot bitmaps, see {@link #setSnapshotScale(float)}
+     */
+    public void initialize(int animationDuration, int backSideColor, int additionalFlipsCount,
+                           Bitmap.Config snapshotConfig, float snapshotScale) {
+        initialize(animationDuration, backSideColor, additionalFlipsCount);
+        setSnapshotConfig(snapshotConfig);
+        setSnapshotScale(snapshotScale);
+    }
+
+    /**
+     * Select config of snapshot and animation part bitmaps. RGB_565 takes half of memory,
+     * but has no alpha channel, so it must be used only when title and content views are opaque.
+     *
+     * @param snapshotConfig ARGB_8888 (default) or RGB_565
+     */
+    public void setSnapshotConfig(Bitmap.Config snapshotConfig) {
+        if (snapshotConfig != Bitmap.Config.ARGB_8888 && snapshotConfig != Bitmap.Config.RGB_565)
+            throw new IllegalArgumentException("Snapshot config must be ARGB_8888 or RGB_565");
+        if (this.mSnapshotConfig == snapshotConfig) return;
+        this.mSnapshotConfig = snapshotConfig;
+        invalidateSnapshots();
+    }
+
+    public Bitmap.Config getSnapshotConfig() {
+        return mSnapshotConfig;
+    }
+
+    /**
+     * Select resolution of snapshot and animation part bitmaps. Views are drawn downscaled during capture
+     * and animation parts upscale them back with filtering, scale 0.5 takes quarter of memory.
+     *
+     * @param snapshotScale scale in range (0, 1], default is 1 - full resolution
+     */
+    public void setSnapshotScale(float snapshotScale) {
+        if (!(snapshotScale > 0 && snapshotScale <= 1))
+            throw new IllegalArgumentException("Snapshot scale must be in range (0, 1]");
+        if (this.mSnapshotScale == snapshotScale) return;
+        this.mSnapshotScale = snapshotScale;
+        invalidateSnapshots();
+    }
+
+    public float getSnapshotScale() {
+        return mSnapshotScale;
+    }
+
+    /**
+     * Calculate memory taken by bitmaps of one animation with current render mode, snapshot quality and slicing mode
+     *
+     * @param width         width of cell
+     * @param titleHeight   height of title view
+     * @param contentHeight height of content view
+     * @return size of snapshots and animation part bitmaps in bytes, 0 if parts draw live views to hardware layers
+     */
+    public int getAnimationByteCount(int width, int titleHeight, int contentHeight) {
+        if (isHardwareLayerModeActive())
+            return 0;
+        final int bytesPerPixel = BitmapPool.getBytesPerPixel(mSnapshotConfig);
+        final int scaledWidth = getScaledSnapshotSize(width);
+        int byteCount = scaledWidth * (getScaledSnapshotSize(titleHeight) + getScaledSnapshotSize(contentHeight)) * bytesPerPixel;
+        // single view draws regions of snapshots itself
+        if (!mZeroCopySlicing && mRenderMode != RenderMode.SINGLE_VIEW) {
+            // each part is copied from content snapshot
+            int yOffset = 0;
+            for (int partHeight : calculateHeightsForAnimationParts(titleHeight, contentHeight, mAdditionalFlipsCount, null)) {
+                byteCount += scaledWidth * getScaledRegionHeight(yOffset, partHeight, getScaledSnapshotSize(contentHeight)) * bytesPerPixel;
+                yOffset += partHeight;
+            }
+        }
+        return byteCount;
+    }
+
+    /**
+     * @param size size of view in pixels
+     * @return size of snapshot bitmap for view in pixels
+     */
+    protected int getScaledSnapshotSize(int size) {
+        return scaleSnapshotSize(size, mSnapshotScale);
+    }
+
+    static int scaleSnapshotSize(int size, float scale) {
+        if (scale == 1 || size <= 0) return size;
+        return Math.max(1, Math.round(size * scale));
+    }
+
+    /**
+     * @return top of region in snapshot bitmap for region of view
+     */
+    private int getScaledRegionTop(int top) {
+        return Math.round(top * mSnapshotScale);
+    }
+
+    /**
+     * @return height of region in snapshot bitmap for region of view, at least 1 pixel inside of snapshot
+     */
+    private int getScaledRegionHeight(int top, int height, int snapshotHeight) {
+        int scaledTop = Math.min(getScaledRegionTop(top), snapshotHeight - 1);
+        int scaledBottom = Math.min(Math.round((top + height) * mSnapshotScale), snapshotHeight);
+        return Math.max(1, scaledBottom - scaledTop);
+    }
+
+    public void addFoldListener(FoldListener foldListener) {
+        if (foldListener != null && !mFoldListeners.contains(foldListener))
+            mFoldListeners.add(foldListener);
+    }
+
+    public void removeFoldListener(FoldListener foldListener) {
+        mFoldListeners.remove(foldListener);
+    }
+
+    /**
+     * Set receiver of per animation timings: snapshot capture, slicing, view setup, first frame,
+     * total duration and dropped frames
+     *
+     * @param metricsSink receiver of timings, null (default) to disable timings
+     */
+    public void setMetricsSink(FoldMetricsSink metricsSink) {
+        this.mMetricsSink = metricsSink;
+    }
+
+    public FoldMetricsSink getMetricsSink() {
+        return mMetricsSink;
+    }
+
+    /**
+     * Set pool used for animation bitmaps, by default pool is shared between all cells
+     *
+     * @param bitmapPool pool for snapshots and animation parts bitmaps
+     */
+    public void setBitmapPool(BitmapPool bitmapPool) {
+        if (bitmapPool == null)
+            throw new IllegalArgumentException("Bitmap pool must be not null");
+        this.mBitmapPool = bitmapPool;
+    }
+
+    public BitmapPool getBitmapPool() {
+        return mBitmapPool;
+    }
+
+    /**
+     * Set pool for views of animation, by default every cell has its own pool,
+     * cells of one list can share single pool
+     *
+     * @param viewPool pool for containers, FoldingCellViews and image views of animation parts
+     */
+    public void setViewPool(FoldViewPool viewPool) {
+        if (viewPool == null)
+            throw new IllegalArgumentException("View pool must be not null");
+        this.mViewPool = viewPool;
+    }
+
+    public FoldViewPool getViewPool() {
+        return mViewPool;
+    }
+
+    /**
+     * Select how content snapshot is divided to animation parts
+     *
+     * @param zeroCopySlicing if true (default) - each part draws its own region of shared content bitmap,
+     *                        if false - each part gets its own copy of pixels
+     */
+    public void setZeroCopySlicing(boolean zeroCopySlicing) {
+        this.mZeroCopySlicing = zeroCopySlicing;
+    }
+
+    public boolean isZeroCopySlicing() {
+        return mZeroCopySlicing;
+    }
+
+    /**
+     * Copy parts of content snapshot during unfold animation, when zero copy slicing is disabled.
+     * First part is ready before first frame, every other part is copied before it becomes visible,
+     * so animation of tall cell starts without copying of all parts.
+     *
+     * @param progressiveRasterization true (default) to copy parts during animation, false to copy them before it
+     */
+    public void setProgressiveRasterization(boolean progressiveRasterization) {
+        this.mProgressiveRasterization = progressiveRasterization;
+    }
+
+    public boolean isProgressiveRasterization() {
+        return mProgressiveRasterization;
+    }
+
+    /**
+     * Select how animation parts are displayed
+     *
+     * @param renderMode {@link RenderMode#VIEW_HIERARCHY} (default), {@link RenderMode#SINGLE_VIEW}
+     *                   or {@link RenderMode#HARDWARE_LAYER}
+     */
+    public void setRenderMode(RenderMode renderMode) {
+        if (renderMode == null)
+            throw new IllegalArgumentException("Render mode must be not null");
+        this.mRenderMode = renderMode;
+    }
+
+    public RenderMode getRenderMode() {
+        return mRenderMode;
+    }
+
+    /**
+     * Take rotation matrices of animation parts from precomputed table instead of Camera on each frame.
+     * Used by {@link RenderMode#SINGLE_VIEW}, parts of {@link RenderMode#VIEW_HIERARCHY} are rotated by
+     * view properties and do not use Camera.
+     *
+     * @param rotationTable table of rotation matrices, for example {@link CameraRotationSource#getDefaultTable()},
+     *                      null (default) to compute rotation by Camera
+     */
+    public void setRotationMatrixTable(RotationMatrixTable rotationTable) {
+        this.mRotationTable = rotationTable;
+    }
+
+    public RotationMatrixTable getRotationMatrixTable() {
+        return mRotationTable;
+    }
+
+    /**
+     * Select how height of cell is animated. Layout free animation limits visible height of cell by clip bounds
+     * and translates following siblings instead of layout pass on every frame, final height is applied
+     * by single layout pass at the end. Parent must not clip children (as for default animation).
+     * Works on API 18+, on older platforms height is always animated by layout.
+     *
+     * @param layoutFreeHeightAnimation true for layout free height animation, false (default) for layout on each frame
+     */
+    public void setLayoutFreeHeightAnimation(boolean layoutFreeHeightAnimation) {
+        this.mLayoutFreeHeightAnimation = layoutFreeHeightAnimation;
+    }
+
+    public boolean isLayoutFreeHeightAnimation() {
+        return mLayoutFreeHeightAnimation;
+    }
+
+    protected boolean isLayoutFreeHeightAnimationActive() {
+        return mLayoutFreeHeightAnimation && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    }
+
+    /**
+     * Keep last snapshots of title and content views and reuse them for next animations while views
+     * are not changed. Snapshot is taken again if its visible view requested layout or width of cell changed,
+     * other changes of views (for example, data rebind in adapter or changes of hidden view) must be reported
+     * by {@link #invalidateSnapshots()}.
+     *
+     * @param snapshotCacheEnabled true to reuse snapshots, false (default) to take them for every animation
+     */
+    public void setSnapshotCacheEnabled(boolean snapshotCacheEnabled) {
+        this.mSnapshotCacheEnabled = snapshotCacheEnabled;
+        if (!snapshotCacheEnabled)
+            releaseSnapshots();
+    }
+
+    public boolean isSnapshotCacheEnabled() {
+        return mSnapshotCacheEnabled;
+    }
+
+    /**
+     * Report that content of title or content view is changed, so cached or prepared snapshots
+     * and measured heights of views must not be used
+     */
+    public void invalidateSnapshots() {
+        mContentVersion++;
+        cancelPrepareSnapshots();
+    }
+
+    /**
+     * Prepare snapshots of title and content views for next animation ahead of time, for example when
+     * cell becomes visible. Views are recorded to display lists on UI thread and rasterized by snapshot executor,
+     * so next fold or unfold starts without capturing views. Preparation is cancelled by
+     * {@link #invalidateSnapshots()}, {@link #cancelPrepareSnapshots()}, {@link #releaseMemory()} or when cell
+     * is detached from window.
+     * Must be called from UI thread after cell is measured.
+     */
+    public void prepareSnapshots() {
+        if (mAnimationInProgress || getMeasuredWidth() == 0) return;
+        final View contentView = getChildAt(0);
+        if (contentView == null) return;
+        final View titleView = getChildAt(1);
+        if (titleView == null) return;
+        cancelPrepareSnapshots();
+        startSnapshotsRendering(titleView, contentView, getMeasuredWidth());
+    }
+
+    /**
+     * Cancel preparation of snapshots started by {@link #prepareSnapshots()}, if it is not finished
+     */
+    public void cancelPrepareSnapshots() {
+        if (mSnapshotRenderTask != null) {
+            mSnapshotRenderTask.cancel();
+            mSnapshotRenderTask = null;
+        }
+    }
+
+    /**
+     * Set executor for rasterization of snapshots prepared by {@link #prepareSnapshots()}
+     *
+     * @param snapshotExecutor background executor, default is AsyncTask.THREAD_POOL_EXECUTOR
+     */
+    public void setSnapshotExecutor(Executor snapshotExecutor) {
+        if (snapshotExecutor == null)
+            throw new IllegalArgumentException("Snapshot executor must be not null");
+        this.mSnapshotExecutor = snapshotExecutor;
+    }
+
+    /**
+     * Size of cell is defined by its state: without animation cell wraps its visible title or content view,
+     * so instant change of state needs only one measure, during animation cell has height of animation.
+     * Exact height given by parent is kept when cell is not animated.
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mAnimationHeight != NO_ANIMATION_HEIGHT)
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(mAnimationHeight, MeasureSpec.EXACTLY);
+        else if (getChildCount() >= 2 && MeasureSpec.getMode(heightMeasureSpec) != MeasureSpec.EXACTLY)
+            heightMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        FoldingCellMemory.register(this);
+    }
+
+    /**
+     * Detached cell finishes its animation and returns all bitmaps to pool, view of finished animation
+     * is removed when cell is attached again
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mDetaching = true;
+        try {
+            endAnimation();
+        } finally {
+            mDetaching = false;
+        }
+        releaseMemory();
+        FoldingCellMemory.unregister(this);
+    }
+
+    /**
+     * Cancel preparation of snapshots and return cached snapshots to pool,
+     * bitmaps of running animation are returned when animation ends
+     */
+    public void releaseMemory() {
+        cancelPrepareSnapshots();
+        releaseSnapshots();
+    }
+
+    /**
+     * @return size of bitmaps held by cell for running animation and cached snapshots in bytes
+     */
+    public int getHeldBytes() {
+        int bytes = 0;
+        for (int i = 0; i < mAnimationBitmaps.size(); i++)
+            bytes += BitmapPool.getAllocationSize(mAnimationBitmaps.get(i));
+        for (Bitmap snapshot : mSnapshots) {
+            if (snapshot != null)
+                bytes += BitmapPool.getAllocationSize(snapshot);
+        }
+        return bytes;
+    }
+
+    /**
+     * Unfold cell with (or without) animation. Running fold animation is reversed from its current progress.
      *
      * @param skipAnimation if true - change state of cell instantly without animation
      */
     public void unfold(boolean skipAnimation) {
-        if (mUnfolded || mAnimationInProgress) return;
+        if (mAnimationInProgress) {
+            if (skipAnimation) {
+                // finish running animation and apply state below
+                endAnimation();
+            } else {
+                if (mFoldAnimator != null && mFoldAnimator.getTargetProgress() == 0)
+                    reverseAnimation();
+                return;
+            }
+        }
+        if (mUnfolded) return;
 
         if (skipAnimation) {
             setStateToUnfolded();
@@ -98,48 +603,58 @@ public class FoldingCell extends RelativeLayout {
         final View titleView = getChildAt(1);
         if (titleView == null) return;
 
-        // create layout container for animation elements
-        final LinearLayout foldingLayout = createAndPrepareFoldingContainer();
-        this.addView(foldingLayout);
+        mFoldMetrics = createFoldMetrics(true);
+
+        // take bitmaps from title and content views or only lay them out for drawing to hardware layers
+        final boolean liveViews = isHardwareLayerModeActive();
+        final Bitmap[] snapshots = captureViewsForAnimation(titleView, contentView, liveViews);
+        final Bitmap bitmapFromTitleView = snapshots[0];
+        final Bitmap bitmapFromContentView = snapshots[1];
+        if (mFoldMetrics != null) mFoldMetrics.markCaptureEnd(System.nanoTime());
 
         // hide title and content views
         titleView.setVisibility(GONE);
         contentView.setVisibility(GONE);
 
-        // take bitmaps from title and content views
-        Bitmap bitmapFromTitleView = getBitmapFromView(titleView, this.getMeasuredWidth());
-        Bitmap bitmapFromContentView = getBitmapFromView(contentView, this.getMeasuredWidth());
-
         // calculate heights of animation parts
-        ArrayList<Integer> heights = calculateHeightsForAnimationParts(titleView.getHeight(), contentView.getHeight(), mAdditionalFlipsCount);
-
-        // create list with animation parts for animation
-        ArrayList<FoldingCellView> foldingCellElements = prepareViewsForAnimation(heights, bitmapFromTitleView, bitmapFromContentView);
-
-        // start fold animation with end listener
-        int childCount = foldingCellElements.size();
-        int part90degreeAnimationDuration = mAnimationDuration / (childCount * 2);
-        startUnfoldAnimation(foldingCellElements, foldingLayout, part90degreeAnimationDuration, new AnimationEndListener() {
-            public void onAnimationEnd(Animation animation) {
-                contentView.setVisibility(VISIBLE);
-                foldingLayout.setVisibility(GONE);
-                FoldingCell.this.removeView(foldingLayout);
-                FoldingCell.this.mUnfolded = true;
-                FoldingCell.this.mAnimationInProgress = false;
-            }
-        });
+        mPartHeights = calculateHeightsForAnimationParts(titleView.getHeight(), contentView.getHeight(), mAdditionalFlipsCount, mPartHeights);
+
+        FoldTimeline timeline = new FoldTimeline(mPartHeights, true);
+        FoldFrameScheduler frameScheduler = createFrameScheduler(timeline);
+
+        // create view or layout container with animation elements, parts can be copied during animation
+        final PanelRasterizer rasterizer = liveViews ? null : createPanelRasterizer(timeline, bitmapFromContentView);
+        final View animationView = liveViews
+                ? createLiveAnimationView(timeline, titleView, contentView)
+                : createAnimationView(timeline, bitmapFromTitleView, bitmapFromContentView, rasterizer);
+        if (mFoldMetrics != null) mFoldMetrics.markSlicingEnd(System.nanoTime());
+        this.addView(animationView);
 
-        startExpandHeightAnimation(heights, part90degreeAnimationDuration * 2);
+        // start unfold animation of parts and cell height with end listener
         this.mAnimationInProgress = true;
+        startFoldAnimator(timeline, animationView, 0, 1, frameScheduler, rasterizer,
+                createAnimationEndListener(animationView, titleView, contentView));
+        if (mFoldMetrics != null) mFoldMetrics.markSetupEnd(System.nanoTime());
+        notifyAnimationStart(true);
     }
 
     /**
-     * Fold cell with (or without) animation
+     * Fold cell with (or without) animation. Running unfold animation is reversed from its current progress.
      *
      * @param skipAnimation if true - change state of cell instantly without animation
      */
     public void fold(boolean skipAnimation) {
-        if (!mUnfolded || mAnimationInProgress) return;
+        if (mAnimationInProgress) {
+            if (skipAnimation) {
+                // finish running animation and apply state below
+                endAnimation();
+            } else {
+                if (mFoldAnimator != null && mFoldAnimator.getTargetProgress() == 1)
+                    reverseAnimation();
+                return;
+            }
+        }
+        if (!mUnfolded) return;
         if (skipAnimation) {
             setStateToFolded();
             return;
@@ -151,46 +666,73 @@ public class FoldingCell extends RelativeLayout {
         final View titleView = getChildAt(1);
         if (titleView == null) return;
 
-        // create empty layout for folding animation
-        final LinearLayout foldingLayout = createAndPrepareFoldingContainer();
-        // add that layout to structure
-        this.addView(foldingLayout);
+        mFoldMetrics = createFoldMetrics(false);
 
-        // make bitmaps from title and content views
-        Bitmap bitmapFromTitleView = getBitmapFromView(titleView, this.getMeasuredWidth());
-        Bitmap bitmapFromContentView = getBitmapFromView(contentView, this.getMeasuredWidth());
+        // make bitmaps from title and content views or only lay them out for drawing to hardware layers
+        final boolean liveViews = isHardwareLayerModeActive();
+        final Bitmap[] snapshots = captureViewsForAnimation(titleView, contentView, liveViews);
+        final Bitmap bitmapFromTitleView = snapshots[0];
+        final Bitmap bitmapFromContentView = snapshots[1];
+        if (mFoldMetrics != null) mFoldMetrics.markCaptureEnd(System.nanoTime());
 
         // hide title and content views
         titleView.setVisibility(GONE);
         contentView.setVisibility(GONE);
 
         // calculate heights of animation parts
-        ArrayList<Integer> heights = calculateHeightsForAnimationParts(titleView.getHeight(), contentView.getHeight(), mAdditionalFlipsCount);
+        mPartHeights = calculateHeightsForAnimationParts(titleView.getHeight(), contentView.getHeight(), mAdditionalFlipsCount, mPartHeights);
 
-        // create list with animation parts for animation
-        ArrayList<FoldingCellView> foldingCellElements = prepareViewsForAnimation(heights, bitmapFromTitleView, bitmapFromContentView);
+        FoldTimeline timeline = new FoldTimeline(mPartHeights, false);
+        FoldFrameScheduler frameScheduler = createFrameScheduler(timeline);
 
-        int childCount = foldingCellElements.size();
-        int part90degreeAnimationDuration = mAnimationDuration / (childCount * 2);
+        // create view or layout with animation elements and add it to structure
+        final PanelRasterizer rasterizer = liveViews ? null : createPanelRasterizer(timeline, bitmapFromContentView);
+        final View animationView = liveViews
+                ? createLiveAnimationView(timeline, titleView, contentView)
+                : createAnimationView(timeline, bitmapFromTitleView, bitmapFromContentView, rasterizer);
+        if (mFoldMetrics != null) mFoldMetrics.markSlicingEnd(System.nanoTime());
+        this.addView(animationView);
 
-        // start fold animation with end listener
-        startFoldAnimation(foldingCellElements, foldingLayout, part90degreeAnimationDuration, new AnimationEndListener() {
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                contentView.setVisibility(GONE);
-                titleView.setVisibility(VISIBLE);
-                foldingLayout.setVisibility(GONE);
-                FoldingCell.this.removeView(foldingLayout);
-                FoldingCell.this.mAnimationInProgress = false;
-                FoldingCell.this.mUnfolded = false;
-            }
-        });
+        // start fold animation of parts and cell height with end listener
+        this.mAnimationInProgress = true;
+        startFoldAnimator(timeline, animationView, 1, 0, frameScheduler, rasterizer,
+                createAnimationEndListener(animationView, titleView, contentView));
+        if (mFoldMetrics != null) mFoldMetrics.markSetupEnd(System.nanoTime());
+        notifyAnimationStart(false);
+    }
 
-        startCollapseHeightAnimation(heights, part90degreeAnimationDuration * 2);
 
-        this.mAnimationInProgress = true;
+    /**
+     * Count of frames of last finished fold or unfold animation, includes segment boundary frames
+     * that were shown late because of dropped frames
+     *
+     * @return frames count or 0 if no animation has finished yet
+     */
+    public int getLastAnimationFramesCount() {
+        return mLastAnimationFramesCount;
+    }
+
+    /**
+     * @return true if cell is unfolded, state changes at the end of animation
+     */
+    public boolean isUnfolded() {
+        return mUnfolded;
     }
 
+    public boolean isAnimationInProgress() {
+        return mAnimationInProgress;
+    }
+
+    /**
+     * Instantly finish current fold or unfold animation, cell gets final state of animation.
+     * Useful when cell is rebound to other data, for example in recycled list views.
+     * Coordinated animation of {@link FoldingCellAccordion} is finished for all its cells.
+     * Parts that are not copied yet by {@link PanelRasterizer} are dropped with its content snapshot.
+     */
+    public void endAnimation() {
+        if (mFoldAnimator != null)
+            mFoldAnimator.end();
+    }
 
     /**
      * Toggle current state of FoldingCellLayout
@@ -214,32 +756,82 @@ public class FoldingCell extends RelativeLayout {
         if (viewHeights == null || viewHeights.isEmpty())
             throw new IllegalStateException("ViewHeights array must be not null and not empty");
 
-        ArrayList<FoldingCellView> partsList = new ArrayList<>();
-
-        int partWidth = titleViewBitmap.getWidth();
-        int yOffset = 0;
-        for (int i = 0; i < viewHeights.size(); i++) {
-            int partHeight = viewHeights.get(i);
-            Bitmap partBitmap = Bitmap.createBitmap(partWidth, partHeight, Bitmap.Config.ARGB_8888);
-            Canvas canvas = new Canvas(partBitmap);
-            Rect srcRect = new Rect(0, yOffset, partWidth, yOffset + partHeight);
-            Rect destRect = new Rect(0, 0, partWidth, partHeight);
-            canvas.drawBitmap(contentViewBitmap, srcRect, destRect, null);
-            ImageView backView = createImageViewFromBitmap(partBitmap);
-            ImageView frontView = null;
-            if (i < viewHeights.size() - 1) {
-                frontView = (i == 0) ? createImageViewFromBitmap(titleViewBitmap) : createBackSideView(viewHeights.get(i + 1));
+        int[] heights = new int[viewHeights.size()];
+        for (int i = 0; i < heights.length; i++)
+            heights[i] = viewHeights.get(i);
+        return prepareViewsForAnimation(heights, titleViewBitmap, contentViewBitmap);
+    }
+
+    /**
+     * Create and prepare list of FoldingCellViews with different bitmap parts for fold animation
+     *
+     * @param viewHeights       heights of animation parts
+     * @param titleViewBitmap   bitmap from title view
+     * @param contentViewBitmap bitmap from content view
+     * @return list of FoldingCellViews with bitmap parts
+     */
+    protected ArrayList<FoldingCellView> prepareViewsForAnimation(int[] viewHeights, Bitmap titleViewBitmap, Bitmap contentViewBitmap) {
+        return prepareViewsForAnimation(viewHeights, titleViewBitmap, contentViewBitmap, null);
+    }
+
+    /**
+     * Create and prepare list of FoldingCellViews with different bitmap parts for fold animation
+     *
+     * @param viewHeights       heights of animation parts
+     * @param titleViewBitmap   bitmap from title view
+     * @param contentViewBitmap bitmap from content view
+     * @param rasterizer        copier of parts during animation from {@link #createPanelRasterizer}, can be null
+     * @return list of FoldingCellViews with bitmap parts
+     */
+    protected ArrayList<FoldingCellView> prepareViewsForAnimation(int[] viewHeights, Bitmap titleViewBitmap, Bitmap contentViewBitmap,
+                                                                  PanelRasterizer rasterizer) {
+        if (viewHeights == null || viewHeights.length == 0)
+            throw new IllegalStateException("ViewHeights array must be not null and not empty");
+
+        FoldTrace.beginSection("FoldingCell.prepareViewsForAnimation");
+        try {
+            ArrayList<FoldingCellView> partsList = new ArrayList<>(viewHeights.length);
+
+            int partWidth = contentViewBitmap.getWidth();
+            int yOffset = 0;
+            for (int i = 0; i < viewHeights.length; i++) {
+                int partHeight = viewHeights[i];
+                ImageView backView;
+                if (mZeroCopySlicing) {
+                    backView = createImageViewFromBitmapRegion(contentViewBitmap, yOffset, partHeight);
+                } else if (rasterizer != null && i > 0) {
+                    // part gets its pixels from rasterizer before it becomes visible
+                    backView = createImageViewFromBitmap(null, partHeight);
+                    rasterizer.addPanel(i, backView, getScaledRegionTop(yOffset),
+                            getScaledRegionHeight(yOffset, partHeight, contentViewBitmap.getHeight()));
+                } else {
+                    // snapshot can be downscaled, so part is copied in snapshot coordinates
+                    int srcTop = getScaledRegionTop(yOffset);
+                    int srcHeight = getScaledRegionHeight(yOffset, partHeight, contentViewBitmap.getHeight());
+                    Bitmap partBitmap = obtainAnimationBitmap(partWidth, srcHeight);
+                    Canvas canvas = new Canvas(partBitmap);
+                    Rect srcRect = new Rect(0, srcTop, partWidth, srcTop + srcHeight);
+                    Rect destRect = new Rect(0, 0, partWidth, srcHeight);
+                    canvas.drawBitmap(contentViewBitmap, srcRect, destRect, null);
+                    backView = createImageViewFromBitmap(partBitmap, partHeight);
+                }
+                ImageView frontView = null;
+                if (i < viewHeights.length - 1) {
+                    frontView = (i == 0) ? createImageViewFromBitmap(titleViewBitmap, partHeight) : createBackSideView(viewHeights[i + 1]);
+                }
+                partsList.add(mViewPool.acquireFoldingCellView(frontView, backView, getContext()));
+                yOffset = yOffset + partHeight;
             }
-            partsList.add(new FoldingCellView(frontView, backView, getContext()));
-            yOffset = yOffset + partHeight;
-        }
 
-        return partsList;
+            return partsList;
+        } finally {
+            FoldTrace.endSection();
+        }
     }
 
     /**
      * Calculate heights for animation parts with some logic
-     * TODO: Add detailed descriptions for logic
+     * Compatibility wrapper for {@link #calculateHeightsForAnimationParts(int, int, int, int[])}
      *
      * @param titleViewHeight      height of title view
      * @param contentViewHeight    height of content view
@@ -247,41 +839,32 @@ public class FoldingCell extends RelativeLayout {
      * @return list of calculated heights
      */
     protected ArrayList<Integer> calculateHeightsForAnimationParts(int titleViewHeight, int contentViewHeight, int additionalFlipsCount) {
-        ArrayList<Integer> partHeights = new ArrayList<>();
-        int additionalPartsTotalHeight = contentViewHeight - titleViewHeight * 2;
-        if (additionalPartsTotalHeight < 0)
-            throw new IllegalStateException("Content View height is too small");
-        // add two main parts - guarantee first flip
-        partHeights.add(titleViewHeight);
-        partHeights.add(titleViewHeight);
-
-        // if no space left - return
-        if (additionalPartsTotalHeight == 0)
-            return partHeights;
-
-        // if some space remained - use two different logic
-        if (additionalFlipsCount != 0) {
-            // 1 - additional parts count is specified and it is not 0 - divide remained space
-            int additionalPartHeight = additionalPartsTotalHeight / additionalFlipsCount;
-            int remainingHeight = additionalPartsTotalHeight % additionalFlipsCount;
-
-            if (additionalPartHeight + remainingHeight > titleViewHeight)
-                throw new IllegalStateException("Additional flips count is too small");
-            for (int i = 0; i < additionalFlipsCount; i++)
-                partHeights.add(additionalPartHeight + (i == 0 ? remainingHeight : 0));
-        } else {
-            // 2 - additional parts count isn't specified or 0 - divide remained space to parts with title view size
-            int partsCount = additionalPartsTotalHeight / titleViewHeight;
-            int restPartHeight = additionalPartsTotalHeight % titleViewHeight;
-            for (int i = 0; i < partsCount; i++)
-                partHeights.add(titleViewHeight);
-            if (restPartHeight > 0)
-                partHeights.add(restPartHeight);
-        }
-
+        int[] heights = calculateHeightsForAnimationParts(titleViewHeight, contentViewHeight, additionalFlipsCount, null);
+        ArrayList<Integer> partHeights = new ArrayList<>(heights.length);
+        for (int height : heights)
+            partHeights.add(height);
         return partHeights;
     }
 
+    /**
+     * Calculate heights for animation parts with {@link FoldTimeline#calculatePartHeights(int, int, int, int[])},
+     * override to change dividing logic
+     *
+     * @param titleViewHeight      height of title view
+     * @param contentViewHeight    height of content view
+     * @param additionalFlipsCount count of additional flips (after first one), set 0 for auto
+     * @param reuseBuffer          array for result, used if its length is equal to parts count, can be null
+     * @return array of calculated heights, reuseBuffer or the new one
+     */
+    protected int[] calculateHeightsForAnimationParts(int titleViewHeight, int contentViewHeight, int additionalFlipsCount, int[] reuseBuffer) {
+        FoldTrace.beginSection("FoldingCell.calculateHeights");
+        try {
+            return FoldTimeline.calculatePartHeights(titleViewHeight, contentViewHeight, additionalFlipsCount, reuseBuffer);
+        } finally {
+            FoldTrace.endSection();
+        }
+    }
+
     /**
      * Create image view for display back side of flip view
      *
@@ -289,9 +872,9 @@ public class FoldingCell extends RelativeLayout {
      * @return ImageView with selected height and default background color
      */
     protected ImageView createBackSideView(int height) {
-        ImageView imageView = new ImageView(getContext());
+        ImageView imageView = mViewPool.acquireImageView(getContext());
         imageView.setBackgroundColor(mBackSideColor);
-        imageView.setLayoutParams(new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, height));
+        setLayoutSize(imageView, ViewGroup.LayoutParams.MATCH_PARENT, height);
         return imageView;
     }
 
@@ -302,29 +885,407 @@ public class FoldingCell extends RelativeLayout {
      * @return ImageView with selected bitmap
      */
     protected ImageView createImageViewFromBitmap(Bitmap bitmap) {
-        ImageView imageView = new ImageView(getContext());
+        ImageView imageView = mViewPool.acquireImageView(getContext());
         imageView.setImageBitmap(bitmap);
-        imageView.setLayoutParams(new LayoutParams(bitmap.getWidth(), bitmap.getHeight()));
+        setLayoutSize(imageView, bitmap.getWidth(), bitmap.getHeight());
         return imageView;
     }
 
     /**
-     * Create bitmap from specified View with specified with
+     * Create image view that stretches selected bitmap to full width and selected height,
+     * downscaled snapshots are upscaled back with filtering
      *
-     * @param view        source for bitmap
-     * @param parentWidth result bitmap width
-     * @return bitmap from specified view
+     * @param bitmap bitmap to display in image view
+     * @param height height of image view
+     * @return ImageView with selected bitmap
      */
-    protected Bitmap getBitmapFromView(View view, int parentWidth) {
+    protected ImageView createImageViewFromBitmap(Bitmap bitmap, int height) {
+        ImageView imageView = mViewPool.acquireImageView(getContext());
+        imageView.setScaleType(ImageView.ScaleType.FIT_XY);
+        imageView.setImageBitmap(bitmap);
+        setLayoutSize(imageView, ViewGroup.LayoutParams.MATCH_PARENT, height);
+        return imageView;
+    }
+
+    /**
+     * Create image view for display region of selected bitmap without copying it
+     *
+     * @param bitmap source bitmap, snapshot of view with current snapshot scale
+     * @param top    top offset of region in view
+     * @param height height of region in view
+     * @return ImageView that displays selected region of bitmap
+     */
+    protected ImageView createImageViewFromBitmapRegion(Bitmap bitmap, int top, int height) {
+        ImageView imageView = mViewPool.acquireImageView(getContext());
+        imageView.setScaleType(ImageView.ScaleType.FIT_XY);
+        imageView.setImageDrawable(new BitmapRegionDrawable(bitmap, getScaledRegionTop(top),
+                getScaledRegionHeight(top, height, bitmap.getHeight())));
+        setLayoutSize(imageView, ViewGroup.LayoutParams.MATCH_PARENT, height);
+        return imageView;
+    }
+
+    /**
+     * Set size of view in cell layout params, layout params of reused view are changed instead of creation
+     *
+     * @param view   view of animation part
+     * @param width  width of view
+     * @param height height of view
+     */
+    protected void setLayoutSize(View view, int width, int height) {
+        if (view.getLayoutParams() instanceof LayoutParams) {
+            view.getLayoutParams().width = width;
+            view.getLayoutParams().height = height;
+            // params are changed in place, so view has to be measured again
+            view.requestLayout();
+        } else {
+            view.setLayoutParams(new LayoutParams(width, height));
+        }
+    }
+
+    /**
+     * Take snapshots of title and content views for animation or only lay them out for drawing to hardware layers.
+     * Views must be captured before they are hidden for animation, so cached snapshots and heights of views
+     * that are not changed are reused.
+     *
+     * @param titleView   title view
+     * @param contentView content view
+     * @param liveViews   true if animation parts draw views to hardware layers
+     * @return snapshots of title and content views, nulls for live views
+     */
+    protected Bitmap[] captureViewsForAnimation(View titleView, View contentView, boolean liveViews) {
+        final int width = this.getMeasuredWidth();
+        if (liveViews) {
+            measureAndLayoutView(titleView, width);
+            measureAndLayoutView(contentView, width);
+            return new Bitmap[2];
+        }
+        return new Bitmap[]{getSnapshotFromView(titleView, width), getSnapshotFromView(contentView, width)};
+    }
+
+    /**
+     * Layout request of visible title or content view means that view is changed. Hidden view keeps
+     * layout request of its visibility change until it is shown again, its changes are reported by content version.
+     */
+    private static boolean isChangedByLayoutRequest(View view) {
+        return view.getVisibility() == VISIBLE && view.isLayoutRequested();
+    }
+
+    /**
+     * Measure specified View with specified width and unlimited height and lay it out at top left corner
+     *
+     * @param view        title or content view
+     * @param parentWidth width of view
+     */
+    protected void measureAndLayoutView(View view, int parentWidth) {
+        int index = indexOfChild(view);
+        if (index >= 0 && index < mMeasuredHeights.length) {
+            int height = getMeasuredViewHeight(index, parentWidth);
+            // view laid out with the same size is not laid out again
+            if (view.getWidth() != parentWidth || view.getHeight() != height)
+                view.layout(0, 0, parentWidth, height);
+            return;
+        }
+        measureView(view, parentWidth);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+    }
+
+    /**
+     * Height of cell in unfolded state for specified width, content view is measured once for width and
+     * content version and height is taken from cache on next calls. Changes of hidden content view or changes that don't
+     * request its layout must be reported by {@link #invalidateSnapshots()}. Useful for adapters, that compute scroll offsets in long lists.
+     *
+     * @param width width of cell
+     * @return height of content view or 0 if there is no content view
+     */
+    public int getUnfoldedHeight(int width) {
+        return getChildAt(0) == null ? 0 : getMeasuredViewHeight(0, width);
+    }
+
+    /**
+     * Height of cell in folded state for specified width, measured once for width and content version
+     *
+     * @param width width of cell
+     * @return height of title view or 0 if there is no title view
+     */
+    public int getFoldedHeight(int width) {
+        return getChildAt(1) == null ? 0 : getMeasuredViewHeight(1, width);
+    }
+
+    /**
+     * Measured height of content or title view from cache, view is measured and laid out if width or content
+     * version are changed or visible view requested layout, layout clears request of view, so next call uses cache
+     *
+     * @param index index of content (0) or title (1) view
+     * @param width width of view
+     * @return measured height of view
+     */
+    private int getMeasuredViewHeight(int index, int width) {
+        View view = getChildAt(index);
+        boolean cached = width > 0 && mMeasuredWidths[index] == width && mMeasuredVersions[index] == mContentVersion
+                && !isChangedByLayoutRequest(view);
+        // view could be measured with other spec by layout of cell after caching
+        if (!cached || view.getMeasuredWidth() != width || view.getMeasuredHeight() != mMeasuredHeights[index]) {
+            measureView(view, width);
+            view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            mMeasuredHeights[index] = view.getMeasuredHeight();
+            mMeasuredWidths[index] = width;
+            mMeasuredVersions[index] = mContentVersion;
+        }
+        return mMeasuredHeights[index];
+    }
+
+    /**
+     * Measure specified View with specified width and unlimited height
+     */
+    private static void measureView(View view, int parentWidth) {
         int specW = View.MeasureSpec.makeMeasureSpec(parentWidth, View.MeasureSpec.EXACTLY);
         int specH = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
         view.measure(specW, specH);
-        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
-        Bitmap b = Bitmap.createBitmap(view.getWidth(), view.getHeight(), Bitmap.Config.ARGB_8888);
-        Canvas c = new Canvas(b);
+    }
+
+    /**
+     * Create bitmap from specified View with specified with
+     *
+     * @param view        source for bitmap
+     * @param parentWidth result bitmap width
+     * @return bitmap from specified view
+     */
+    protected Bitmap getBitmapFromView(View view, int parentWidth) {
+        FoldTrace.beginSection("FoldingCell.getBitmapFromView");
+        try {
+            measureAndLayoutView(view, parentWidth);
+            Bitmap b = obtainAnimationBitmap(getScaledSnapshotSize(view.getWidth()), getScaledSnapshotSize(view.getHeight()));
+            Canvas c = new Canvas(b);
+            if (mSnapshotScale != 1)
+                c.scale((float) b.getWidth() / view.getWidth(), (float) b.getHeight() / view.getHeight());
+            c.translate(-view.getScrollX(), -view.getScrollY());
+            view.draw(c);
+            return b;
+        } finally {
+            FoldTrace.endSection();
+        }
+    }
+
+    /**
+     * Get snapshot of title or content view from cache or take the new one
+     *
+     * @param view        title or content view
+     * @param parentWidth result bitmap width
+     * @return bitmap from specified view
+     */
+    protected Bitmap getSnapshotFromView(View view, int parentWidth) {
+        int index = indexOfChild(view);
+        if (index < 0 || index >= mSnapshots.length)
+            return getBitmapFromView(view, parentWidth);
+
+        Bitmap snapshot = mSnapshots[index];
+        boolean snapshotValid = snapshot != null && mSnapshotVersions[index] == mContentVersion
+                && snapshot.getWidth() == getScaledSnapshotSize(parentWidth) && !isChangedByLayoutRequest(view);
+        if (!mSnapshotCacheEnabled) {
+            mSnapshots[index] = null;
+            if (snapshotValid) {
+                // prepared snapshot is used once and returned to pool with other animation bitmaps
+                mAnimationBitmaps.add(snapshot);
+                return snapshot;
+            }
+            mBitmapPool.put(snapshot);
+            return getBitmapFromView(view, parentWidth);
+        }
+        if (snapshotValid)
+            return snapshot;
+
+        // cached snapshot is not returned to pool with other animation bitmaps
+        Bitmap newSnapshot = getBitmapFromView(view, parentWidth);
+        mAnimationBitmaps.remove(newSnapshot);
+        mBitmapPool.put(snapshot);
+        mSnapshots[index] = newSnapshot;
+        mSnapshotVersions[index] = mContentVersion;
+        return newSnapshot;
+    }
+
+    /**
+     * Record title and content views to pictures and start their rasterization on background thread
+     *
+     * @param titleView   title view
+     * @param contentView content view
+     * @param parentWidth width of snapshots
+     */
+    protected void startSnapshotsRendering(View titleView, View contentView, int parentWidth) {
+        mSnapshotRenderTask = new SnapshotRenderTask(getPictureFromView(titleView, parentWidth),
+                getPictureFromView(contentView, parentWidth), mSnapshotConfig, mSnapshotScale, mContentVersion, mBitmapPool, this);
+        mSnapshotExecutor.execute(mSnapshotRenderTask);
+    }
+
+    @Override
+    public void onSnapshotsRendered(SnapshotRenderTask task) {
+        if (task != mSnapshotRenderTask || task.getContentVersion() != mContentVersion || mAnimationInProgress) {
+            task.release();
+            return;
+        }
+        mSnapshotRenderTask = null;
+        Bitmap[] renderedSnapshots = {task.getContentBitmap(), task.getTitleBitmap()};
+        for (int i = 0; i < mSnapshots.length; i++) {
+            mBitmapPool.put(mSnapshots[i]);
+            mSnapshots[i] = renderedSnapshots[i];
+            mSnapshotVersions[i] = task.getContentVersion();
+        }
+    }
+
+    /**
+     * Return cached snapshots of title and content views to pool, snapshots used by running animation
+     * are returned when animation ends
+     */
+    protected void releaseSnapshots() {
+        for (int i = 0; i < mSnapshots.length; i++) {
+            if (mSnapshots[i] == null) continue;
+            if (mAnimationInProgress)
+                mAnimationBitmaps.add(mSnapshots[i]);
+            else
+                mBitmapPool.put(mSnapshots[i]);
+            mSnapshots[i] = null;
+        }
+    }
+
+    /**
+     * Record specified View with specified width to picture, that can be drawn on any thread
+     *
+     * @param view        source for picture
+     * @param parentWidth result picture width
+     * @return picture from specified view
+     */
+    protected Picture getPictureFromView(View view, int parentWidth) {
+        measureAndLayoutView(view, parentWidth);
+        Picture picture = new Picture();
+        Canvas c = picture.beginRecording(view.getWidth(), view.getHeight());
         c.translate(-view.getScrollX(), -view.getScrollY());
         view.draw(c);
-        return b;
+        picture.endRecording();
+        return picture;
+    }
+
+    /**
+     * Take bitmap from pool for current animation, it will be returned to pool when animation ends
+     *
+     * @param width  bitmap width
+     * @param height bitmap height
+     * @return cleared bitmap with specified size
+     */
+    protected Bitmap obtainAnimationBitmap(int width, int height) {
+        Bitmap bitmap = mBitmapPool.get(width, height, mSnapshotConfig);
+        mAnimationBitmaps.add(bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Return all bitmaps taken for current animation back to pool
+     */
+    protected void releaseAnimationBitmaps() {
+        for (Bitmap bitmap : mAnimationBitmaps)
+            mBitmapPool.put(bitmap);
+        mAnimationBitmaps.clear();
+    }
+
+    /**
+     * Create copier of parts for animation if parts are copied progressively, it must be passed to
+     * {@link #createAnimationView} and to {@link #startFoldAnimator} of the same animation
+     *
+     * @param timeline          timeline of animation with heights of parts
+     * @param contentViewBitmap bitmap from content view
+     * @return rasterizer or null if parts are not copied during animation
+     */
+    protected PanelRasterizer createPanelRasterizer(FoldTimeline timeline, Bitmap contentViewBitmap) {
+        // parts of fold animation are visible from its first frame, so only unfold parts are copied progressively
+        if (!mProgressiveRasterization || mZeroCopySlicing || mRenderMode == RenderMode.SINGLE_VIEW || !timeline.isUnfoldEasing())
+            return null;
+        return new PanelRasterizer(this, contentViewBitmap, timeline, PanelRasterizer.DEFAULT_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * Create view that displays animation parts in selected render mode
+     *
+     * @param timeline          timeline of animation with heights of parts
+     * @param titleViewBitmap   bitmap from title view
+     * @param contentViewBitmap bitmap from content view
+     * @param rasterizer        copier of parts during animation from {@link #createPanelRasterizer}, can be null
+     * @return FoldingCellRendererView or layout container with FoldingCellView for each part
+     */
+    protected View createAnimationView(FoldTimeline timeline, Bitmap titleViewBitmap, Bitmap contentViewBitmap, PanelRasterizer rasterizer) {
+        if (mRenderMode == RenderMode.SINGLE_VIEW)
+            return createRendererView(timeline, titleViewBitmap, contentViewBitmap);
+
+        LinearLayout foldingLayout = createAndPrepareFoldingContainer();
+        for (FoldingCellView foldingCellElement : prepareViewsForAnimation(timeline.getPartHeights(), titleViewBitmap, contentViewBitmap, rasterizer))
+            foldingLayout.addView(foldingCellElement);
+        return foldingLayout;
+    }
+
+    /**
+     * Create layout container with FoldingCellView for each part, parts draw regions of live title and content
+     * views to hardware layers and are rotated as views, so no bitmaps are created
+     *
+     * @param timeline    timeline of animation with heights of parts
+     * @param titleView   measured and laid out title view
+     * @param contentView measured and laid out content view
+     * @return layout container with FoldingCellView for each part
+     */
+    protected LinearLayout createLiveAnimationView(FoldTimeline timeline, View titleView, View contentView) {
+        FoldTrace.beginSection("FoldingCell.createLiveAnimationView");
+        try {
+            final int[] partHeights = timeline.getPartHeights();
+            LinearLayout foldingLayout = createAndPrepareFoldingContainer();
+            int yOffset = 0;
+            for (int i = 0; i < partHeights.length; i++) {
+                View backView = createViewRegionView(contentView, yOffset, partHeights[i]);
+                View frontView = null;
+                if (i < partHeights.length - 1) {
+                    frontView = (i == 0) ? createViewRegionView(titleView, 0, titleView.getHeight()) : createBackSideView(partHeights[i + 1]);
+                    frontView.setLayerType(LAYER_TYPE_HARDWARE, null);
+                }
+                foldingLayout.addView(mViewPool.acquireFoldingCellView(frontView, backView, getContext()));
+                yOffset += partHeights[i];
+            }
+            return foldingLayout;
+        } finally {
+            FoldTrace.endSection();
+        }
+    }
+
+    /**
+     * Create view that draws region of live view to hardware layer
+     *
+     * @param sourceView measured and laid out title or content view
+     * @param top        top offset of region in source view
+     * @param height     height of region
+     * @return configured ViewRegionView
+     */
+    protected ViewRegionView createViewRegionView(View sourceView, int top, int height) {
+        ViewRegionView regionView = new ViewRegionView(sourceView, top, height, getContext());
+        regionView.setLayoutParams(new LayoutParams(sourceView.getWidth(), height));
+        regionView.setLayerType(LAYER_TYPE_HARDWARE, null);
+        return regionView;
+    }
+
+    /**
+     * @return true if parts are drawn from live views to hardware layers, hardware layers are available
+     * only in hardware accelerated window
+     */
+    protected boolean isHardwareLayerModeActive() {
+        return mRenderMode == RenderMode.HARDWARE_LAYER && isHardwareAccelerated();
+    }
+
+    /**
+     * Create view that draws all animation parts itself
+     *
+     * @param timeline          timeline of animation
+     * @param titleViewBitmap   bitmap from title view
+     * @param contentViewBitmap bitmap from content view
+     * @return configured renderer view
+     */
+    protected FoldingCellRendererView createRendererView(FoldTimeline timeline, Bitmap titleViewBitmap, Bitmap contentViewBitmap) {
+        FoldingCellRendererView rendererView = new FoldingCellRendererView(titleViewBitmap, contentViewBitmap, timeline, mBackSideColor, getContext());
+        rendererView.setRotationTable(mRotationTable);
+        rendererView.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, timeline.getTotalHeight()));
+        return rendererView;
     }
 
     /**
@@ -333,58 +1294,326 @@ public class FoldingCell extends RelativeLayout {
      * @return Configured container for animation elements (LinearLayout)
      */
     protected LinearLayout createAndPrepareFoldingContainer() {
-        LinearLayout foldingContainer = new LinearLayout(getContext());
-        foldingContainer.setClipToPadding(false);
-        foldingContainer.setClipChildren(false);
-        foldingContainer.setOrientation(LinearLayout.VERTICAL);
-        foldingContainer.setLayoutParams(new LinearLayout.LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT));
-        return foldingContainer;
+        FoldTrace.beginSection("FoldingCell.createContainer");
+        try {
+            LinearLayout foldingContainer = mViewPool.acquireContainer(getContext());
+            foldingContainer.setClipToPadding(false);
+            foldingContainer.setClipChildren(false);
+            foldingContainer.setOrientation(LinearLayout.VERTICAL);
+            return foldingContainer;
+        } finally {
+            FoldTrace.endSection();
+        }
+    }
+
+    /**
+     * Create frames of animation for current refresh rate of display, every 90 degree segment takes
+     * 1/(partsCount*2) of animation duration rounded to whole frames
+     *
+     * @param timeline timeline of animation
+     * @return frame scheduler for animation
+     */
+    protected FoldFrameScheduler createFrameScheduler(FoldTimeline timeline) {
+        float segmentDuration = (float) mAnimationDuration / (timeline.getPartsCount() * 2);
+        return new FoldFrameScheduler(segmentDuration, timeline.getSegmentsCount(), getDisplayRefreshRate());
+    }
+
+    /**
+     * @return refresh rate of display with cell or {@link FoldFrameScheduler#DEFAULT_REFRESH_RATE} if cell is not attached
+     */
+    protected float getDisplayRefreshRate() {
+        Display display = getDisplay();
+        if (display != null && display.getRefreshRate() > 0)
+            return display.getRefreshRate();
+        return FoldFrameScheduler.DEFAULT_REFRESH_RATE;
+    }
+
+    /**
+     * Start single clock for rotation of all animation parts and height of FoldingCellLayout,
+     * started animator becomes current animation of cell
+     *
+     * @param timeline       timeline of animation
+     * @param animationView  view from {@link #createAnimationView}
+     * @param progressFrom   start progress of timeline
+     * @param progressTo     end progress of timeline
+     * @param frameScheduler frames of animation, defines its duration
+     * @param rasterizer     copier of parts that was passed to {@link #createAnimationView}, can be null
+     * @param endListener    animation end callback
+     * @return started animator
+     */
+    protected FoldAnimator startFoldAnimator(FoldTimeline timeline, View animationView, float progressFrom, float progressTo,
+                                             FoldFrameScheduler frameScheduler, final PanelRasterizer rasterizer,
+                                             Animator.AnimatorListener endListener) {
+        FoldAnimator.Target partsTarget = (animationView instanceof FoldAnimator.Target)
+                ? (FoldAnimator.Target) animationView
+                : createPartsTarget(timeline, (ViewGroup) animationView);
+        FoldAnimator foldAnimator = new FoldAnimator(progressFrom, progressTo, frameScheduler.getDurationMillis())
+                .withFrameScheduler(frameScheduler);
+        if (rasterizer != null) {
+            // parts are copied before they are rotated on the same frame, two frames ahead
+            rasterizer.setLookahead(2f / frameScheduler.getFramesCount());
+            foldAnimator.withTarget(rasterizer).withSkipListener(rasterizer).withListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    // cancelled animation drops parts that are not copied and content snapshot
+                    rasterizer.release();
+                }
+            });
+        }
+        foldAnimator.withTarget(partsTarget)
+                .withTarget(createHeightTarget(timeline))
+                .withListener(endListener);
+        if (isLayoutFreeHeightAnimationActive())
+            foldAnimator.withListener(createFinalLayoutListener());
+        // layout free animation keeps start height of cell in layout, per frame animation changes it
+        mAnimationHeight = timeline.getHeight(progressFrom);
+        if (mFoldMetrics != null) {
+            final FoldMetrics metrics = mFoldMetrics;
+            final FoldAnimator animator = foldAnimator;
+            foldAnimator.withTarget(new FoldAnimator.Target() {
+                @Override
+                public void onFoldProgress(float progress) {
+                    // start progress is applied when shared clock starts, first frame is the first tick of clock
+                    if (animator.getRenderedFramesCount() > 0)
+                        metrics.markFrame(System.nanoTime());
+                }
+            });
+        }
+        foldAnimator.withReverseListener(new FoldAnimator.ReverseListener() {
+            @Override
+            public void onFoldReversed(FoldAnimator animator) {
+                onAnimationReversed(animator);
+            }
+        });
+        // current animator is known to end listener and can be reversed or ended by cell
+        mFoldAnimator = foldAnimator;
+        if (mSharedClock != null) {
+            // coordinated animation is started by its clock together with animations of other cells
+            mSharedClock.withFollower(foldAnimator);
+            return foldAnimator;
+        }
+        FoldTrace.beginSection("FoldingCell.startAnimation");
+        try {
+            foldAnimator.start();
+        } finally {
+            FoldTrace.endSection();
+        }
+        return foldAnimator;
+    }
+
+    /**
+     * Next animation of cell is not started by cell but follows the clock, used by {@link FoldingCellAccordion}
+     *
+     * @param sharedClock not started animator or null to start animations as usual
+     */
+    void setSharedClock(FoldAnimator sharedClock) {
+        this.mSharedClock = sharedClock;
+    }
+
+    /**
+     * Create listener that applies final state of cell when animation ends, state depends on
+     * direction of animation at the end, so reversed animation gives state it was reversed to
+     *
+     * @param animationView view from {@link #createAnimationView}
+     * @param titleView     title view
+     * @param contentView   content view
+     * @return animation end listener
+     */
+    protected Animator.AnimatorListener createAnimationEndListener(final View animationView, final View titleView, final View contentView) {
+        return new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                boolean unfolded = mFoldAnimator != null && mFoldAnimator.getTargetProgress() == 1;
+                contentView.setVisibility(unfolded ? VISIBLE : GONE);
+                titleView.setVisibility(unfolded ? GONE : VISIBLE);
+                animationView.setVisibility(GONE);
+                if (mDetaching) {
+                    // removal of child during detach dispatches detach to it again, runnable waits for next attach
+                    FoldingCell.this.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            removeAnimationView(animationView);
+                        }
+                    });
+                } else {
+                    removeAnimationView(animationView);
+                }
+                FoldingCell.this.releaseAnimationBitmaps();
+                FoldingCell.this.mUnfolded = unfolded;
+                FoldingCell.this.mAnimationInProgress = false;
+                FoldingCell.this.mAnimationHeight = NO_ANIMATION_HEIGHT;
+                if (mFoldAnimator != null)
+                    FoldingCell.this.mLastAnimationFramesCount = mFoldAnimator.getRenderedFramesCount();
+                FoldingCell.this.mFoldAnimator = null;
+                FoldingCell.this.notifyAnimationEnd(unfolded);
+            }
+        };
+    }
+
+    /**
+     * Remove view of finished animation and return it to view pool
+     *
+     * @param animationView view from {@link #createAnimationView}
+     */
+    private void removeAnimationView(View animationView) {
+        removeView(animationView);
+        mViewPool.release(animationView);
+    }
+
+    /**
+     * Reverse running animation, coordinated animation is reversed for all cells of its group
+     */
+    protected void reverseAnimation() {
+        mFoldAnimator.reverse();
+    }
+
+    /**
+     * Notify listeners about cancelled animation and start of opposite one
+     *
+     * @param foldAnimator reversed animator of cell
+     */
+    protected void onAnimationReversed(FoldAnimator foldAnimator) {
+        if (mFoldMetrics != null) mFoldMetrics.markReversed();
+        for (int i = 0; i < mFoldListeners.size(); i++)
+            mFoldListeners.get(i).onCancel(this);
+        notifyAnimationStart(foldAnimator.getTargetProgress() == 1);
+    }
+
+    /**
+     * @return true if cell is unfolded or its running animation goes to unfolded state
+     */
+    boolean isUnfoldTarget() {
+        if (mAnimationInProgress && mFoldAnimator != null)
+            return mFoldAnimator.getTargetProgress() == 1;
+        return mUnfolded;
+    }
+
+    private void notifyAnimationStart(boolean unfold) {
+        // async section spans whole animation, reversed animation ends it and begins opposite one
+        if (mTraceSectionName != null)
+            FoldTrace.endAsyncSection(mTraceSectionName, System.identityHashCode(this));
+        mTraceSectionName = unfold ? TRACE_SECTION_UNFOLD : TRACE_SECTION_FOLD;
+        FoldTrace.beginAsyncSection(mTraceSectionName, System.identityHashCode(this));
+        for (int i = 0; i < mFoldListeners.size(); i++) {
+            if (unfold)
+                mFoldListeners.get(i).onUnfoldStart(this);
+            else
+                mFoldListeners.get(i).onFoldStart(this);
+        }
+    }
+
+    private void notifyAnimationEnd(boolean unfolded) {
+        if (mTraceSectionName != null) {
+            FoldTrace.endAsyncSection(mTraceSectionName, System.identityHashCode(this));
+            mTraceSectionName = null;
+        }
+        final FoldMetrics metrics = mFoldMetrics;
+        mFoldMetrics = null;
+        if (metrics != null && mMetricsSink != null) {
+            metrics.markEnd(System.nanoTime());
+            mMetricsSink.onFoldMetrics(this, metrics);
+        }
+        for (int i = 0; i < mFoldListeners.size(); i++) {
+            if (unfolded)
+                mFoldListeners.get(i).onUnfoldEnd(this);
+            else
+                mFoldListeners.get(i).onFoldEnd(this);
+        }
+    }
+
+    /**
+     * Start timings of animation if metrics sink is set
+     *
+     * @param unfold true for unfold animation
+     * @return started metrics or null
+     */
+    protected FoldMetrics createFoldMetrics(boolean unfold) {
+        if (mMetricsSink == null) return null;
+        FoldMetrics metrics = new FoldMetrics(unfold, (long) (1000000000L / getDisplayRefreshRate()));
+        metrics.markStart(System.nanoTime());
+        return metrics;
+    }
+
+    /**
+     * Create target that rotates FoldingCellViews in layout container according to timeline
+     *
+     * @param timeline      timeline of animation
+     * @param foldingLayout layout container with FoldingCellView for each part
+     * @return target for FoldAnimator
+     */
+    protected FoldAnimator.Target createPartsTarget(final FoldTimeline timeline, final ViewGroup foldingLayout) {
+        return new FoldAnimator.Target() {
+            @Override
+            public void onFoldProgress(float progress) {
+                for (int i = 0; i < foldingLayout.getChildCount(); i++)
+                    ((FoldingCellView) foldingLayout.getChildAt(i)).setFoldAngles(
+                            timeline.getPartAngle(i, progress), timeline.getFrontAngle(i, progress));
+            }
+        };
+    }
+
+    /**
+     * Create target that changes height of FoldingCellLayout according to timeline,
+     * by layout on each frame or by clip bounds if layout free height animation is active
+     *
+     * @param timeline timeline of animation
+     * @return target for FoldAnimator
+     */
+    protected FoldAnimator.Target createHeightTarget(final FoldTimeline timeline) {
+        final boolean layoutFree = isLayoutFreeHeightAnimationActive();
+        final Rect clipBounds = new Rect();
+        return new FoldAnimator.Target() {
+            @Override
+            public void onFoldProgress(float progress) {
+                int height = timeline.getHeight(progress);
+                if (layoutFree) {
+                    VisibleHeight.apply(FoldingCell.this, height, clipBounds);
+                } else if (mAnimationHeight != height) {
+                    mAnimationHeight = height;
+                    requestLayout();
+                }
+            }
+        };
+    }
+
+    /**
+     * Create listener for end of layout free height animation, that removes clip of cell,
+     * final height of cell is measured from its final state with single layout pass
+     *
+     * @return animation end listener
+     */
+    protected Animator.AnimatorListener createFinalLayoutListener() {
+        return new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                VisibleHeight.reset(FoldingCell.this);
+                FoldingCell.this.requestLayout();
+            }
+        };
     }
 
     /**
      * Prepare and start height expand animation for FoldingCellLayout
      *
-     * @param partAnimationDuration one part animate duration
      * @param viewHeights           heights of animation parts
+     * @param partAnimationDuration one part animate duration
+     * @deprecated height is changed by {@link FoldAnimator} of fold and unfold, see {@link #createHeightTarget(FoldTimeline)}
      */
+    @Deprecated
     protected void startExpandHeightAnimation(ArrayList<Integer> viewHeights, int partAnimationDuration) {
-        if (viewHeights == null || viewHeights.isEmpty())
-            throw new IllegalArgumentException("ViewHeights array must have at least 2 elements");
-
-        ArrayList<Animation> heightAnimations = new ArrayList<>();
-        int fromHeight = viewHeights.get(0);
-        for (int i = 1; i < viewHeights.size(); i++) {
-            int toHeight = fromHeight + viewHeights.get(i);
-            heightAnimations.add(new HeightAnimation(this, fromHeight, toHeight, partAnimationDuration)
-                    .withInterpolator(new DecelerateInterpolator()));
-            fromHeight = toHeight;
-        }
-        createAnimationChain(heightAnimations, this);
-        this.startAnimation(heightAnimations.get(0));
+        startHeightAnimator(viewHeights, partAnimationDuration, true);
     }
 
     /**
      * Prepare and start height collapse animation for FoldingCellLayout
      *
-     * @param partAnimationDuration one part animate duration
      * @param viewHeights           heights of animation parts
+     * @param partAnimationDuration one part animate duration
+     * @deprecated height is changed by {@link FoldAnimator} of fold and unfold, see {@link #createHeightTarget(FoldTimeline)}
      */
+    @Deprecated
     protected void startCollapseHeightAnimation(ArrayList<Integer> viewHeights, int partAnimationDuration) {
-        if (viewHeights == null || viewHeights.isEmpty())
-            throw new IllegalArgumentException("ViewHeights array must have at least 2 elements");
-
-        ArrayList<Animation> heightAnimations = new ArrayList<>();
-        int fromHeight = viewHeights.get(0);
-        for (int i = 1; i < viewHeights.size(); i++) {
-            int toHeight = fromHeight + viewHeights.get(i);
-            heightAnimations.add(new HeightAnimation(this, toHeight, fromHeight, partAnimationDuration)
-                    .withInterpolator(new DecelerateInterpolator()));
-            fromHeight = toHeight;
-        }
-
-        Collections.reverse(heightAnimations);
-        createAnimationChain(heightAnimations, this);
-        this.startAnimation(heightAnimations.get(0));
+        startHeightAnimator(viewHeights, partAnimationDuration, false);
     }
 
     /**
@@ -392,7 +1621,9 @@ public class FoldingCell extends RelativeLayout {
      *
      * @param animationList   collection with animations
      * @param animationObject view for animations
+     * @deprecated fold and unfold are driven by single {@link FoldAnimator} without chains of animations
      */
+    @Deprecated
     protected void createAnimationChain(final List<Animation> animationList, final View animationObject) {
         for (int i = 0; i < animationList.size(); i++) {
             Animation animation = animationList.get(i);
@@ -413,39 +1644,13 @@ public class FoldingCell extends RelativeLayout {
      * @param foldingCellElements           ordered list with animation parts from top to bottom
      * @param foldingLayout                 prepared layout for animation parts
      * @param part90degreeAnimationDuration animation duration for 90 degree rotation
-     * @param animationEndListener          animation end callback
+     * @param animationEndListener          animation end callback, gets null animation
+     * @deprecated parts are rotated by {@link FoldAnimator}, see {@link #startFoldAnimator}
      */
+    @Deprecated
     protected void startFoldAnimation(ArrayList<FoldingCellView> foldingCellElements, ViewGroup foldingLayout,
                                       int part90degreeAnimationDuration, AnimationEndListener animationEndListener) {
-        for (FoldingCellView foldingCellElement : foldingCellElements)
-            foldingLayout.addView(foldingCellElement);
-
-        Collections.reverse(foldingCellElements);
-
-        int nextDelay = 0;
-        for (int i = 0; i < foldingCellElements.size(); i++) {
-            FoldingCellView cell = foldingCellElements.get(i);
-            cell.setVisibility(VISIBLE);
-            // not FIRST(BOTTOM) element - animate front view
-            if (i != 0) {
-                FoldAnimation foldAnimation = new FoldAnimation(FoldAnimation.FoldAnimationMode.UNFOLD_UP, part90degreeAnimationDuration)
-                        .withStartOffset(nextDelay)
-                        .withInterpolator(new DecelerateInterpolator());
-                // if last(top) element - add end listener
-                if (i == foldingCellElements.size() - 1) {
-                    foldAnimation.setAnimationListener(animationEndListener);
-                }
-                cell.animateFrontView(foldAnimation);
-                nextDelay = nextDelay + part90degreeAnimationDuration;
-            }
-            // if not last(top) element - animate whole view
-            if (i != foldingCellElements.size() - 1) {
-                cell.startAnimation(new FoldAnimation(FoldAnimation.FoldAnimationMode.FOLD_UP, part90degreeAnimationDuration)
-                        .withStartOffset(nextDelay)
-                        .withInterpolator(new DecelerateInterpolator()));
-                nextDelay = nextDelay + part90degreeAnimationDuration;
-            }
-        }
+        startPartsAnimator(foldingCellElements, foldingLayout, part90degreeAnimationDuration, animationEndListener, false);
     }
 
     /**
@@ -454,38 +1659,73 @@ public class FoldingCell extends RelativeLayout {
      * @param foldingCellElements           ordered list with animation parts from top to bottom
      * @param foldingLayout                 prepared layout for animation parts
      * @param part90degreeAnimationDuration animation duration for 90 degree rotation
-     * @param animationEndListener          animation end callback
+     * @param animationEndListener          animation end callback, gets null animation
+     * @deprecated parts are rotated by {@link FoldAnimator}, see {@link #startFoldAnimator}
      */
+    @Deprecated
     protected void startUnfoldAnimation(ArrayList<FoldingCellView> foldingCellElements, ViewGroup foldingLayout,
                                         int part90degreeAnimationDuration, AnimationEndListener animationEndListener) {
-        int nextDelay = 0;
-        for (int i = 0; i < foldingCellElements.size(); i++) {
+        startPartsAnimator(foldingCellElements, foldingLayout, part90degreeAnimationDuration, animationEndListener, true);
+    }
+
+    /**
+     * Run height of cell through timeline of parts with separate animator, height is measured from state
+     * of cell again when animator ends
+     */
+    private void startHeightAnimator(ArrayList<Integer> viewHeights, int partAnimationDuration, boolean expand) {
+        if (viewHeights == null || viewHeights.isEmpty())
+            throw new IllegalArgumentException("ViewHeights array must have at least 2 elements");
+
+        int[] heights = new int[viewHeights.size()];
+        for (int i = 0; i < heights.length; i++)
+            heights[i] = viewHeights.get(i);
+        FoldTimeline timeline = new FoldTimeline(heights, expand);
+        float progressFrom = expand ? 0 : 1;
+        // height grows by one part during each two segments
+        FoldAnimator heightAnimator = new FoldAnimator(progressFrom, 1 - progressFrom,
+                partAnimationDuration * timeline.getSegmentsCount() / 2)
+                .withTarget(createHeightTarget(timeline))
+                .withListener(new AnimatorListenerAdapter() {
+                    @Override
+                    public void onAnimationEnd(Animator animation) {
+                        if (!mAnimationInProgress)
+                            mAnimationHeight = NO_ANIMATION_HEIGHT;
+                        FoldingCell.this.requestLayout();
+                    }
+                });
+        if (isLayoutFreeHeightAnimationActive())
+            heightAnimator.withListener(createFinalLayoutListener());
+        mAnimationHeight = timeline.getHeight(progressFrom);
+        requestLayout();
+        heightAnimator.start();
+    }
+
+    /**
+     * Add parts to layout and rotate them through timeline of their heights with separate animator
+     */
+    private void startPartsAnimator(ArrayList<FoldingCellView> foldingCellElements, ViewGroup foldingLayout,
+                                    int part90degreeAnimationDuration, final AnimationEndListener animationEndListener, boolean unfold) {
+        int[] heights = new int[foldingCellElements.size()];
+        for (int i = 0; i < heights.length; i++) {
             FoldingCellView cell = foldingCellElements.get(i);
             cell.setVisibility(VISIBLE);
             foldingLayout.addView(cell);
-            // if not first(top) element - animate whole view
-            if (i != 0) {
-                FoldAnimation foldAnimation = new FoldAnimation(FoldAnimation.FoldAnimationMode.UNFOLD_DOWN, part90degreeAnimationDuration)
-                        .withStartOffset(nextDelay)
-                        .withInterpolator(new DecelerateInterpolator());
-
-                // if last(bottom) element - add end listener
-                if (i == foldingCellElements.size() - 1) {
-                    foldAnimation.setAnimationListener(animationEndListener);
-                }
-
-                nextDelay = nextDelay + part90degreeAnimationDuration;
-                cell.startAnimation(foldAnimation);
-
-            }
-            // not last(bottom) element - animate front view
-            if (i != foldingCellElements.size() - 1) {
-                cell.animateFrontView(new FoldAnimation(FoldAnimation.FoldAnimationMode.FOLD_DOWN, part90degreeAnimationDuration)
-                        .withStartOffset(nextDelay)
-                        .withInterpolator(new DecelerateInterpolator()));
-                nextDelay = nextDelay + part90degreeAnimationDuration;
-            }
+            // height of FoldingCellView is height of its back view
+            heights[i] = cell.getLayoutParams().height;
         }
+        FoldTimeline timeline = new FoldTimeline(heights, unfold);
+        float progressFrom = unfold ? 0 : 1;
+        FoldAnimator partsAnimator = new FoldAnimator(progressFrom, 1 - progressFrom,
+                part90degreeAnimationDuration * timeline.getSegmentsCount())
+                .withTarget(createPartsTarget(timeline, foldingLayout));
+        if (animationEndListener != null)
+            partsAnimator.withListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    animationEndListener.onAnimationEnd(null);
+                }
+            });
+        partsAnimator.start();
     }
 
     /**
@@ -500,6 +1740,12 @@ public class FoldingCell extends RelativeLayout {
             this.mAnimationDuration = array.getInt(R.styleable.FoldingCell_animationDuration, DEF_ANIMATION_DURATION);
             this.mBackSideColor = array.getColor(R.styleable.FoldingCell_backSideColor, DEF_BACK_SIDE_COLOR);
             this.mAdditionalFlipsCount = array.getInt(R.styleable.FoldingCell_additionalFlipsCount, DEF_ADDITIONAL_FLIPS);
+            // enum values of snapshotConfig attribute: 0 - argb_8888, 1 - rgb_565
+            this.mSnapshotConfig = array.getInt(R.styleable.FoldingCell_snapshotConfig, 0) == 1
+                    ? Bitmap.Config.RGB_565 : DEF_SNAPSHOT_CONFIG;
+            float snapshotScale = array.getFloat(R.styleable.FoldingCell_snapshotScale, DEF_SNAPSHOT_SCALE);
+            if (snapshotScale > 0 && snapshotScale <= 1)
+                this.mSnapshotScale = snapshotScale;
         } finally {
             array.recycle();
         }
@@ -518,9 +1764,7 @@ public class FoldingCell extends RelativeLayout {
         contentView.setVisibility(GONE);
         titleView.setVisibility(VISIBLE);
         FoldingCell.this.mUnfolded = false;
-        ViewGroup.LayoutParams layoutParams = this.getLayoutParams();
-        layoutParams.height = titleView.getHeight();
-        this.setLayoutParams(layoutParams);
+        // height is measured from visible title view
         this.requestLayout();
     }
 
@@ -537,9 +1781,7 @@ public class FoldingCell extends RelativeLayout {
         contentView.setVisibility(VISIBLE);
         titleView.setVisibility(GONE);
         FoldingCell.this.mUnfolded = true;
-        ViewGroup.LayoutParams layoutParams = this.getLayoutParams();
-        layoutParams.height = contentView.getHeight();
-        this.setLayoutParams(layoutParams);
+        // height is measured from visible content view
         this.requestLayout();
     }
 
@@ -0,0 +1,127 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.animations.FoldAnimator;
+
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps only one of registered cells unfolded. When other cell is unfolded, fold of opened cell and unfold
+ * of new one run on single animation clock, so heights of both cells change on the same frame with one
+ * layout pass. Coordinated animation is reversed and finished for both cells together.
+ * Cells are held by weak references, so rows dropped by list are collected without unregistering.
+ */
+public class FoldingCellAccordion {
+
+    // registered cells, weak keys keep cells that were not unregistered collectable
+    private final WeakHashMap<FoldingCell, Boolean> mCells = new WeakHashMap<>();
+
+    /**
+     * @param cell cell that takes part in "only one unfolded" behaviour
+     */
+    public void register(FoldingCell cell) {
+        if (cell == null)
+            throw new IllegalArgumentException("Cell must be not null");
+        mCells.put(cell, Boolean.TRUE);
+    }
+
+    public void unregister(FoldingCell cell) {
+        mCells.remove(cell);
+    }
+
+    public boolean isRegistered(FoldingCell cell) {
+        return mCells.containsKey(cell);
+    }
+
+    public int getCellsCount() {
+        return mCells.size();
+    }
+
+    /**
+     * @return registered cell that is unfolded or is unfolding now, null if all cells are folded
+     */
+    public FoldingCell getUnfoldedCell() {
+        for (FoldingCell cell : mCells.keySet()) {
+            if (cell.isUnfoldTarget())
+                return cell;
+        }
+        return null;
+    }
+
+    /**
+     * Unfold cell and fold other unfolded cells with one animation clock
+     *
+     * @param cell          registered cell
+     * @param skipAnimation if true - change state of cells instantly without animation
+     */
+    public void unfold(FoldingCell cell, boolean skipAnimation) {
+        checkRegistered(cell);
+        // cells are copied, fold and unfold of cells don't change registration
+        final ArrayList<FoldingCell> cells = new ArrayList<>(mCells.keySet());
+        if (skipAnimation) {
+            for (int i = 0; i < cells.size(); i++) {
+                if (cells.get(i) != cell)
+                    cells.get(i).fold(true);
+            }
+            cell.unfold(true);
+            return;
+        }
+
+        // cells with new animations follow the clock, running animations are reversed by cells as usual
+        FoldAnimator clock = new FoldAnimator(0, 1, 0);
+        boolean prepared = false;
+        try {
+            for (int i = 0; i < cells.size(); i++) {
+                FoldingCell other = cells.get(i);
+                if (other != cell && other.isUnfoldTarget()) {
+                    other.setSharedClock(clock);
+                    other.fold(false);
+                }
+            }
+            cell.setSharedClock(clock);
+            cell.unfold(false);
+            prepared = true;
+        } finally {
+            for (int i = 0; i < cells.size(); i++)
+                cells.get(i).setSharedClock(null);
+            // cells that already follow the clock are animated, or finished instantly if preparation failed
+            if (clock.getFollowersCount() > 0) {
+                if (prepared)
+                    clock.start();
+                else
+                    clock.end();
+            }
+        }
+    }
+
+    /**
+     * Fold cell, other cells are already folded
+     *
+     * @param cell          registered cell
+     * @param skipAnimation if true - change state of cell instantly without animation
+     */
+    public void fold(FoldingCell cell, boolean skipAnimation) {
+        checkRegistered(cell);
+        cell.fold(skipAnimation);
+    }
+
+    /**
+     * Fold cell if it is unfolded or unfolding, unfold it and fold other cells otherwise
+     *
+     * @param cell          registered cell
+     * @param skipAnimation if true - change state of cells instantly without animation
+     */
+    public void toggle(FoldingCell cell, boolean skipAnimation) {
+        checkRegistered(cell);
+        if (cell.isUnfoldTarget())
+            fold(cell, skipAnimation);
+        else
+            unfold(cell, skipAnimation);
+    }
+
+    private void checkRegistered(FoldingCell cell) {
+        if (!mCells.containsKey(cell))
+            throw new IllegalArgumentException("Cell is not registered in accordion");
+    }
+
+}
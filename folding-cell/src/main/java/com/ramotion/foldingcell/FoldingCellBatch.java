@@ -0,0 +1,211 @@
+package com.ramotion.foldingcell;
+
+import android.graphics.Rect;
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * Folds or unfolds all cells inside of view group, for example "collapse all" in list.
+ * Only cells attached to view group are changed: cells outside of screen change state instantly,
+ * animations of visible cells are started on next frames within frame time budget, so snapshots of many cells
+ * are not taken on single frame. At least one animation is started on every frame.
+ * Items of list that have no attached cells are changed by {@link FoldStateReceiver}, for example
+ * {@link com.ramotion.foldingcell.adapters.FoldingCellRecyclerAdapter}, otherwise their rebind restores old state.
+ */
+public class FoldingCellBatch implements Choreographer.FrameCallback {
+
+    /**
+     * Store of states that cells are bound from, gets new state of all items when batch starts
+     */
+    public interface FoldStateReceiver {
+        void onAllFoldStatesChanged(boolean unfolded);
+    }
+
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 8000000L;
+
+    private final ViewGroup mParent;
+    private final ArrayList<FoldingCell> mPendingCells = new ArrayList<>();
+    private final Rect mVisibleRect = new Rect();
+    // index of next pending cell, cells before it are already processed
+    private int mNextCell;
+    private long mFrameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+    private Runnable mEndAction;
+    private FoldStateReceiver mFoldStateReceiver;
+    private boolean mUnfold;
+    private boolean mRunning;
+    private int mAnimatedCellsCount;
+    private int mInstantCellsCount;
+
+    /**
+     * @param parent view group with cells, cells are searched in whole hierarchy of group
+     */
+    public FoldingCellBatch(ViewGroup parent) {
+        if (parent == null)
+            throw new IllegalArgumentException("Parent view group must be not null");
+        this.mParent = parent;
+    }
+
+    /**
+     * @param frameBudgetNanos time for starting of animations on every frame
+     */
+    public FoldingCellBatch withFrameBudget(long frameBudgetNanos) {
+        if (frameBudgetNanos <= 0)
+            throw new IllegalArgumentException("Frame budget must be positive");
+        this.mFrameBudgetNanos = frameBudgetNanos;
+        return this;
+    }
+
+    /**
+     * @param endAction action that runs when animations of all cells are started
+     */
+    public FoldingCellBatch withEndAction(Runnable endAction) {
+        this.mEndAction = endAction;
+        return this;
+    }
+
+    /**
+     * @param foldStateReceiver store of states that cells are bound from, null if cells are not rebound
+     */
+    public FoldingCellBatch withFoldStateReceiver(FoldStateReceiver foldStateReceiver) {
+        this.mFoldStateReceiver = foldStateReceiver;
+        return this;
+    }
+
+    /**
+     * Fold all unfolded cells, pending cells of previous batch are dropped
+     */
+    public void foldAll() {
+        start(false);
+    }
+
+    /**
+     * Unfold all folded cells, pending cells of previous batch are dropped
+     */
+    public void unfoldAll() {
+        start(true);
+    }
+
+    /**
+     * Stop starting of animations, already started animations are not affected
+     */
+    public void cancel() {
+        if (mRunning)
+            Choreographer.getInstance().removeFrameCallback(this);
+        mRunning = false;
+        mPendingCells.clear();
+        mNextCell = 0;
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    /**
+     * @return count of cells with started animations since last start of batch
+     */
+    public int getAnimatedCellsCount() {
+        return mAnimatedCellsCount;
+    }
+
+    /**
+     * @return count of cells that changed state without animation since last start of batch
+     */
+    public int getInstantCellsCount() {
+        return mInstantCellsCount;
+    }
+
+    private void start(boolean unfold) {
+        cancel();
+        mUnfold = unfold;
+        mAnimatedCellsCount = 0;
+        mInstantCellsCount = 0;
+        // stored state is changed first, so cells bound during batch get new state
+        if (mFoldStateReceiver != null)
+            mFoldStateReceiver.onAllFoldStatesChanged(unfold);
+        collectCells(mParent);
+        // invisible cells are changed now, visible ones are moved to start of list in their order
+        int visibleCount = 0;
+        for (int i = 0; i < mPendingCells.size(); i++) {
+            FoldingCell cell = mPendingCells.get(i);
+            if (isCellVisible(cell))
+                mPendingCells.set(visibleCount++, cell);
+            else
+                applyInstantly(cell);
+        }
+        mPendingCells.subList(visibleCount, mPendingCells.size()).clear();
+        if (mPendingCells.isEmpty()) {
+            finish();
+            return;
+        }
+        mRunning = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning) return;
+        long startNanos = System.nanoTime();
+        while (mNextCell < mPendingCells.size()) {
+            FoldingCell cell = mPendingCells.get(mNextCell++);
+            // cell could be scrolled out or changed by user since start of batch
+            if (cell.isUnfoldTarget() == mUnfold) continue;
+            if (!isCellVisible(cell)) {
+                applyInstantly(cell);
+                continue;
+            }
+            if (mUnfold)
+                cell.unfold(false);
+            else
+                cell.fold(false);
+            mAnimatedCellsCount++;
+            if (System.nanoTime() - startNanos >= mFrameBudgetNanos)
+                break;
+        }
+        if (mNextCell == mPendingCells.size()) {
+            mRunning = false;
+            mPendingCells.clear();
+            mNextCell = 0;
+            finish();
+        } else {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * @param cell cell of batch
+     * @return true if any part of cell is on screen
+     */
+    protected boolean isCellVisible(FoldingCell cell) {
+        return cell.isShown() && cell.getGlobalVisibleRect(mVisibleRect);
+    }
+
+    private void applyInstantly(FoldingCell cell) {
+        if (cell.isUnfoldTarget() == mUnfold) return;
+        if (mUnfold)
+            cell.unfold(true);
+        else
+            cell.fold(true);
+        mInstantCellsCount++;
+    }
+
+    private void collectCells(ViewGroup group) {
+        for (int i = 0; i < group.getChildCount(); i++) {
+            View child = group.getChildAt(i);
+            if (child instanceof FoldingCell) {
+                if (((FoldingCell) child).isUnfoldTarget() != mUnfold)
+                    mPendingCells.add((FoldingCell) child);
+            } else if (child instanceof ViewGroup) {
+                collectCells((ViewGroup) child);
+            }
+        }
+    }
+
+    private void finish() {
+        if (mEndAction != null)
+            mEndAction.run();
+    }
+
+}
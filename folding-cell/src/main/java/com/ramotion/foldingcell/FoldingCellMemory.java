@@ -0,0 +1,108 @@
+package com.ramotion.foldingcell;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+
+import com.ramotion.foldingcell.pools.BitmapPool;
+
+import java.util.ArrayList;
+import java.util.WeakHashMap;
+
+/**
+ * Process-wide release of bitmaps held by folding cells. Registered in application context by first
+ * attached cell, on memory pressure it drops cached and prepared snapshots of attached cells and
+ * bitmaps of pools, bitmaps of running animations are returned when animations end.
+ */
+public final class FoldingCellMemory implements ComponentCallbacks2 {
+
+    private static FoldingCellMemory sInstance;
+
+    // attached cells, weak keys keep cells that were not detached properly collectable
+    private final WeakHashMap<FoldingCell, Boolean> mCells = new WeakHashMap<>();
+
+    private FoldingCellMemory() {
+    }
+
+    /**
+     * Track attached cell, callbacks are registered in application context on first call
+     */
+    static synchronized void register(FoldingCell cell) {
+        if (sInstance == null) {
+            sInstance = new FoldingCellMemory();
+            Context appContext = cell.getContext().getApplicationContext();
+            (appContext != null ? appContext : cell.getContext()).registerComponentCallbacks(sInstance);
+        }
+        sInstance.mCells.put(cell, Boolean.TRUE);
+    }
+
+    static synchronized void unregister(FoldingCell cell) {
+        if (sInstance != null)
+            sInstance.mCells.remove(cell);
+    }
+
+    /**
+     * @return total size of bitmaps held by attached cells and by their pools in bytes
+     */
+    public static synchronized int getHeldBytes() {
+        int bytes = 0;
+        for (BitmapPool pool : getPools())
+            bytes += pool.getCurrentSize();
+        if (sInstance != null) {
+            for (FoldingCell cell : sInstance.mCells.keySet())
+                bytes += cell.getHeldBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Release memory same way as on system callback, must be called from UI thread
+     *
+     * @param level trim level from {@link ComponentCallbacks2}
+     */
+    public static synchronized void trimMemory(int level) {
+        ArrayList<BitmapPool> pools = getPools();
+        if (level < TRIM_MEMORY_RUNNING_LOW) {
+            // moderate pressure - keep snapshots, shrink pools
+            for (BitmapPool pool : pools)
+                pool.trimToSize(pool.getCurrentSize() / 2);
+            return;
+        }
+        if (sInstance != null) {
+            for (FoldingCell cell : new ArrayList<>(sInstance.mCells.keySet()))
+                cell.releaseMemory();
+        }
+        for (BitmapPool pool : pools)
+            pool.clear();
+    }
+
+    /**
+     * @return default pool and pools of attached cells without duplicates
+     */
+    private static ArrayList<BitmapPool> getPools() {
+        ArrayList<BitmapPool> pools = new ArrayList<>();
+        pools.add(BitmapPool.getDefault());
+        if (sInstance != null) {
+            for (FoldingCell cell : sInstance.mCells.keySet()) {
+                if (!pools.contains(cell.getBitmapPool()))
+                    pools.add(cell.getBitmapPool());
+            }
+        }
+        return pools;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        trimMemory(level);
+    }
+
+    @Override
+    public void onLowMemory() {
+        trimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.ramotion.foldingcell;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.widget.ImageView;
+
+import com.ramotion.foldingcell.animations.FoldAnimator;
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import java.util.ArrayList;
+
+/**
+ * Copies regions of content snapshot to bitmaps of animation parts during unfold animation instead of
+ * before its first frame. On every frame part is copied if it becomes visible within lookahead of progress,
+ * other pending parts are copied in order of their appearance while frame time budget is not spent.
+ * Created by {@link FoldingCell} for single animation and released when animation ends. Skipped animation
+ * releases rasterizer before its final progress, so remaining parts are not copied on the last frame.
+ */
+public final class PanelRasterizer implements FoldAnimator.Target, FoldAnimator.SkipListener {
+
+    static final long DEFAULT_FRAME_BUDGET_NANOS = 4000000L;
+
+    private static class Panel {
+        final int mIndex;
+        final ImageView mView;
+        final int mSrcTop;
+        final int mSrcHeight;
+
+        Panel(int index, ImageView view, int srcTop, int srcHeight) {
+            this.mIndex = index;
+            this.mView = view;
+            this.mSrcTop = srcTop;
+            this.mSrcHeight = srcHeight;
+        }
+    }
+
+    private final FoldingCell mCell;
+    private Bitmap mContentBitmap;
+    private final FoldTimeline mTimeline;
+    private final long mFrameBudgetNanos;
+    private final ArrayList<Panel> mPendingPanels = new ArrayList<>();
+    private final Rect mSrcRect = new Rect();
+    private final Rect mDestRect = new Rect();
+    private float mLookahead;
+
+    /**
+     * @param cell             cell that gives bitmaps for parts
+     * @param contentBitmap    snapshot of content view
+     * @param timeline         timeline of animation, defines when parts become visible
+     * @param frameBudgetNanos time for copying of parts that are not visible yet on every frame
+     */
+    PanelRasterizer(FoldingCell cell, Bitmap contentBitmap, FoldTimeline timeline, long frameBudgetNanos) {
+        this.mCell = cell;
+        this.mContentBitmap = contentBitmap;
+        this.mTimeline = timeline;
+        this.mFrameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * Add part that will be copied later, parts must be added from top to bottom
+     *
+     * @param index     index of part in timeline
+     * @param view      back view of part
+     * @param srcTop    top of region in snapshot
+     * @param srcHeight height of region in snapshot
+     */
+    void addPanel(int index, ImageView view, int srcTop, int srcHeight) {
+        mPendingPanels.add(new Panel(index, view, srcTop, srcHeight));
+    }
+
+    /**
+     * @param lookahead progress ahead of current one, parts visible at this progress are copied immediately
+     */
+    void setLookahead(float lookahead) {
+        this.mLookahead = lookahead;
+    }
+
+    int getPendingCount() {
+        return mPendingPanels.size();
+    }
+
+    @Override
+    public void onFoldSkipped(FoldAnimator animator) {
+        release();
+    }
+
+    /**
+     * Drop pending parts and content snapshot, content snapshot is returned to pool with other animation bitmaps
+     */
+    void release() {
+        mPendingPanels.clear();
+        mContentBitmap = null;
+    }
+
+    @Override
+    public void onFoldProgress(float progress) {
+        final long startNanos = System.nanoTime();
+        final float visibleProgress = Math.min(1, progress + mLookahead);
+        while (!mPendingPanels.isEmpty()) {
+            Panel panel = mPendingPanels.get(0);
+            boolean visible = mTimeline.getPartAngle(panel.mIndex, visibleProgress) < FoldTimeline.MAX_ANGLE;
+            if (!visible && System.nanoTime() - startNanos >= mFrameBudgetNanos)
+                break;
+            mPendingPanels.remove(0);
+            rasterize(panel);
+        }
+    }
+
+    private void rasterize(Panel panel) {
+        int partWidth = mContentBitmap.getWidth();
+        Bitmap partBitmap = mCell.obtainAnimationBitmap(partWidth, panel.mSrcHeight);
+        Canvas canvas = new Canvas(partBitmap);
+        mSrcRect.set(0, panel.mSrcTop, partWidth, panel.mSrcTop + panel.mSrcHeight);
+        mDestRect.set(0, 0, partWidth, panel.mSrcHeight);
+        canvas.drawBitmap(mContentBitmap, mSrcRect, mDestRect, null);
+        panel.mView.setImageBitmap(partBitmap);
+    }
+
+}
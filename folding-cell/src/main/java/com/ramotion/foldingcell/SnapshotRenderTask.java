@@ -0,0 +1,109 @@
+package com.ramotion.foldingcell;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.ramotion.foldingcell.metrics.FoldTrace;
+import com.ramotion.foldingcell.pools.BitmapPool;
+
+/**
+ * Rasterizes recorded pictures of title and content views on background thread
+ * and delivers bitmaps to folding cell on main thread
+ */
+class SnapshotRenderTask implements Runnable {
+
+    interface Callback {
+        void onSnapshotsRendered(SnapshotRenderTask task);
+    }
+
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+    private final Picture mTitlePicture;
+    private final Picture mContentPicture;
+    private final Bitmap.Config mConfig;
+    private final float mScale;
+    private final int mContentVersion;
+    private final BitmapPool mBitmapPool;
+    private final Callback mCallback;
+
+    private volatile boolean mCancelled;
+    private Bitmap mTitleBitmap;
+    private Bitmap mContentBitmap;
+
+    SnapshotRenderTask(Picture titlePicture, Picture contentPicture, Bitmap.Config config, float scale,
+                       int contentVersion, BitmapPool bitmapPool, Callback callback) {
+        this.mTitlePicture = titlePicture;
+        this.mContentPicture = contentPicture;
+        this.mConfig = config;
+        this.mScale = scale;
+        this.mContentVersion = contentVersion;
+        this.mBitmapPool = bitmapPool;
+        this.mCallback = callback;
+    }
+
+    @Override
+    public void run() {
+        if (mCancelled) return;
+        FoldTrace.beginSection("FoldingCell.renderSnapshots");
+        try {
+            mTitleBitmap = render(mTitlePicture);
+            if (!mCancelled)
+                mContentBitmap = render(mContentPicture);
+        } finally {
+            FoldTrace.endSection();
+        }
+
+        sMainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (mCancelled)
+                    release();
+                else
+                    mCallback.onSnapshotsRendered(SnapshotRenderTask.this);
+            }
+        });
+    }
+
+    /**
+     * Stop rendering if it is not finished, rendered bitmaps are returned to pool
+     */
+    void cancel() {
+        mCancelled = true;
+    }
+
+    /**
+     * Return rendered bitmaps to pool
+     */
+    void release() {
+        mBitmapPool.put(mTitleBitmap);
+        mBitmapPool.put(mContentBitmap);
+        mTitleBitmap = null;
+        mContentBitmap = null;
+    }
+
+    int getContentVersion() {
+        return mContentVersion;
+    }
+
+    Bitmap getTitleBitmap() {
+        return mTitleBitmap;
+    }
+
+    Bitmap getContentBitmap() {
+        return mContentBitmap;
+    }
+
+    private Bitmap render(Picture picture) {
+        Bitmap bitmap = mBitmapPool.get(FoldingCell.scaleSnapshotSize(picture.getWidth(), mScale),
+                FoldingCell.scaleSnapshotSize(picture.getHeight(), mScale), mConfig);
+        Canvas canvas = new Canvas(bitmap);
+        if (mScale != 1)
+            canvas.scale((float) bitmap.getWidth() / picture.getWidth(), (float) bitmap.getHeight() / picture.getHeight());
+        picture.draw(canvas);
+        return bitmap;
+    }
+
+}
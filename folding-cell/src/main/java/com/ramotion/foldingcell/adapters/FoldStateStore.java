@@ -0,0 +1,160 @@
+package com.ramotion.foldingcell.adapters;
+
+import java.util.Arrays;
+
+/**
+ * Set of stable ids of unfolded cells. Open addressing hash set of primitive longs,
+ * so checks on each bind and changes of state do not box ids and do not allocate.
+ * Not thread safe, must be used from UI thread.
+ */
+public class FoldStateStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // zero is used as marker of free slot, so it is stored separately
+    private static final long FREE = 0;
+
+    private long[] mIds;
+    private int mSize;
+    private boolean mHasZero;
+
+    public FoldStateStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize expected count of unfolded cells
+     */
+    public FoldStateStore(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Expected size must be not negative");
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < expectedSize * 2)
+            capacity <<= 1;
+        mIds = new long[capacity];
+    }
+
+    public boolean contains(long id) {
+        if (id == FREE) return mHasZero;
+        return mIds[indexOf(mIds, id)] == id;
+    }
+
+    /**
+     * @return true if id was not in set before
+     */
+    public boolean add(long id) {
+        if (id == FREE) {
+            if (mHasZero) return false;
+            mHasZero = true;
+            mSize++;
+            return true;
+        }
+        int index = indexOf(mIds, id);
+        if (mIds[index] == id) return false;
+        mIds[index] = id;
+        mSize++;
+        // keep load factor not greater than 0.5
+        if (mSize * 2 > mIds.length)
+            resize(mIds.length * 2);
+        return true;
+    }
+
+    /**
+     * @return true if id was in set before
+     */
+    public boolean remove(long id) {
+        if (id == FREE) {
+            if (!mHasZero) return false;
+            mHasZero = false;
+            mSize--;
+            return true;
+        }
+        final long[] ids = mIds;
+        final int mask = ids.length - 1;
+        int index = indexOf(ids, id);
+        if (ids[index] != id) return false;
+        // shift following ids of same probe sequence back, so lookups never stop on removed slot
+        int next = (index + 1) & mask;
+        while (ids[next] != FREE) {
+            int home = hash(ids[next], mask);
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                ids[index] = ids[next];
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        ids[index] = FREE;
+        mSize--;
+        return true;
+    }
+
+    /**
+     * Add id to set if it is not in set, remove it otherwise
+     *
+     * @return true if id is in set after toggle
+     */
+    public boolean toggle(long id) {
+        if (remove(id)) return false;
+        add(id);
+        return true;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(mIds, FREE);
+        mHasZero = false;
+        mSize = 0;
+    }
+
+    /**
+     * @return all ids in undefined order, for example to save instance state
+     */
+    public long[] toArray() {
+        long[] result = new long[mSize];
+        int i = 0;
+        if (mHasZero) result[i++] = FREE;
+        for (long id : mIds)
+            if (id != FREE) result[i++] = id;
+        return result;
+    }
+
+    /**
+     * @param ids ids to add, for example from saved instance state
+     */
+    public void addAll(long[] ids) {
+        if (ids == null) return;
+        for (long id : ids)
+            add(id);
+    }
+
+    private void resize(int capacity) {
+        final long[] oldIds = mIds;
+        final long[] newIds = new long[capacity];
+        for (long id : oldIds)
+            if (id != FREE) newIds[indexOf(newIds, id)] = id;
+        mIds = newIds;
+    }
+
+    /**
+     * @return index of slot with specified id or of free slot where it must be placed
+     */
+    private static int indexOf(long[] ids, long id) {
+        final int mask = ids.length - 1;
+        int index = hash(id, mask);
+        while (ids[index] != FREE && ids[index] != id)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private static int hash(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.ramotion.foldingcell.adapters;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.ramotion.foldingcell.FoldingCell;
+import com.ramotion.foldingcell.FoldingCellBatch;
+import com.ramotion.foldingcell.pools.FoldViewPool;
+
+import java.util.List;
+
+/**
+ * Base RecyclerView adapter for folding cells. State of cells is stored by stable ids of items,
+ * so it survives inserts, removals and moves of items. Recycled cells are bound with stored state
+ * without animation, changes of state are bound with animation by partial bind with
+ * {@link #PAYLOAD_FOLD_STATE} payload, without full rebind of item. Bound cells share one pool of animation views.
+ * RecyclerView is not a dependency of the library, app that uses this adapter must depend on recyclerview-v7.
+ * Adapter receives states of {@link FoldingCellBatch}, so fold or unfold of all cells is kept for items
+ * that are not bound.
+ *
+ * @param <VH> view holder with folding cell
+ */
+public abstract class FoldingCellRecyclerAdapter<VH extends FoldingCellRecyclerAdapter.ViewHolder> extends RecyclerView.Adapter<VH>
+        implements FoldingCellBatch.FoldStateReceiver {
+
+    /**
+     * Payload of item change that only animates cell to its stored state
+     */
+    public static final Object PAYLOAD_FOLD_STATE = new Object();
+
+    private final FoldStateStore mFoldStates;
+    private final FoldViewPool mViewPool = new FoldViewPool();
+
+    public FoldingCellRecyclerAdapter() {
+        this(new FoldStateStore());
+    }
+
+    /**
+     * @param foldStates store of unfolded items ids, for example shared between adapters
+     */
+    public FoldingCellRecyclerAdapter(FoldStateStore foldStates) {
+        if (foldStates == null)
+            throw new IllegalArgumentException("Fold state store must be not null");
+        this.mFoldStates = foldStates;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Stable id of item, state of cells is stored by these ids
+     */
+    @Override
+    public abstract long getItemId(int position);
+
+    public FoldStateStore getFoldStates() {
+        return mFoldStates;
+    }
+
+    /**
+     * @return pool of animation views shared by cells of adapter
+     */
+    public FoldViewPool getViewPool() {
+        return mViewPool;
+    }
+
+    public boolean isUnfolded(int position) {
+        return mFoldStates.contains(getItemId(position));
+    }
+
+    /**
+     * Store new state of item and animate its cell if it is bound
+     *
+     * @param position adapter position of item
+     * @param unfolded new state of item
+     */
+    public void setUnfolded(int position, boolean unfolded) {
+        long id = getItemId(position);
+        boolean changed = unfolded ? mFoldStates.add(id) : mFoldStates.remove(id);
+        if (changed)
+            notifyItemChanged(position, PAYLOAD_FOLD_STATE);
+    }
+
+    /**
+     * Toggle stored state of item and animate its cell if it is bound
+     *
+     * @param position adapter position of item
+     */
+    public void toggle(int position) {
+        mFoldStates.toggle(getItemId(position));
+        notifyItemChanged(position, PAYLOAD_FOLD_STATE);
+    }
+
+    /**
+     * Store state of all items without change of bound cells, attached cells are changed by {@link FoldingCellBatch},
+     * cells attached from view cache without bind are brought to stored state in {@link #onViewAttachedToWindow}
+     *
+     * @param unfolded new state of all items
+     */
+    public void setAllUnfolded(boolean unfolded) {
+        for (int i = 0; i < getItemCount(); i++) {
+            if (unfolded)
+                mFoldStates.add(getItemId(i));
+            else
+                mFoldStates.remove(getItemId(i));
+        }
+    }
+
+    @Override
+    public void onAllFoldStatesChanged(boolean unfolded) {
+        setAllUnfolded(unfolded);
+    }
+
+    @Override
+    public void onBindViewHolder(VH holder, int position, List<Object> payloads) {
+        final boolean unfolded = mFoldStates.contains(getItemId(position));
+        if (payloads.isEmpty()) {
+            if (holder.getFoldingCell().getViewPool() != mViewPool)
+                holder.getFoldingCell().setViewPool(mViewPool);
+            // content of item can be changed, snapshots of previous content must not be animated
+            holder.getFoldingCell().invalidateSnapshots();
+            onBindViewHolder(holder, position);
+            bindFoldState(holder.getFoldingCell(), unfolded, true);
+            return;
+        }
+
+        boolean foldStateChanged = false;
+        boolean contentChanged = false;
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) == PAYLOAD_FOLD_STATE)
+                foldStateChanged = true;
+            else
+                contentChanged = true;
+        }
+        if (contentChanged)
+            onBindViewHolderPayloads(holder, position, payloads);
+        if (foldStateChanged)
+            bindFoldState(holder.getFoldingCell(), unfolded, false);
+    }
+
+    /**
+     * Partial bind of item content, called for payloads other than {@link #PAYLOAD_FOLD_STATE}.
+     * Default implementation makes full bind of item content.
+     *
+     * @param holder   view holder
+     * @param position adapter position of item
+     * @param payloads all payloads of change
+     */
+    protected void onBindViewHolderPayloads(VH holder, int position, List<Object> payloads) {
+        onBindViewHolder(holder, position);
+        holder.getFoldingCell().invalidateSnapshots();
+    }
+
+    /**
+     * Cell attached from view cache is not bound again, so it gets stored state without animation
+     */
+    @Override
+    public void onViewAttachedToWindow(VH holder) {
+        super.onViewAttachedToWindow(holder);
+        FoldingCell cell = holder.getFoldingCell();
+        boolean unfolded = mFoldStates.contains(holder.getItemId());
+        if (!cell.isAnimationInProgress() && cell.isUnfolded() != unfolded)
+            bindFoldState(cell, unfolded, true);
+    }
+
+    @Override
+    public void onViewRecycled(VH holder) {
+        super.onViewRecycled(holder);
+        FoldingCell cell = holder.getFoldingCell();
+        cell.endAnimation();
+        cell.invalidateSnapshots();
+    }
+
+    /**
+     * Bring cell to stored state of its item
+     *
+     * @param cell          folding cell
+     * @param unfolded      stored state
+     * @param skipAnimation true for bind of recycled cell, false for change of state
+     */
+    protected void bindFoldState(FoldingCell cell, boolean unfolded, boolean skipAnimation) {
+        // running animation is ended on bind without animation or reversed on change of state
+        if (unfolded)
+            cell.unfold(skipAnimation);
+        else
+            cell.fold(skipAnimation);
+    }
+
+    /**
+     * View holder with folding cell, cell can be item view itself or its child
+     */
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        private final FoldingCell mFoldingCell;
+
+        public ViewHolder(FoldingCell foldingCell) {
+            this(foldingCell, foldingCell);
+        }
+
+        public ViewHolder(View itemView, FoldingCell foldingCell) {
+            super(itemView);
+            if (foldingCell == null)
+                throw new IllegalArgumentException("Folding cell must be not null");
+            this.mFoldingCell = foldingCell;
+        }
+
+        public FoldingCell getFoldingCell() {
+            return mFoldingCell;
+        }
+
+    }
+
+}
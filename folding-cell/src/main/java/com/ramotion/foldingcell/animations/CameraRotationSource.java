@@ -0,0 +1,48 @@
+package com.ramotion.foldingcell.animations;
+
+import android.graphics.Camera;
+import android.graphics.Matrix;
+
+/**
+ * Exact rotation matrices from {@link Camera}, source for {@link RotationMatrixTable}
+ */
+public class CameraRotationSource implements RotationMatrixTable.Source {
+
+    private static RotationMatrixTable sDefaultTable;
+
+    private final Camera mCamera = new Camera();
+    private final Matrix mMatrix = new Matrix();
+
+    /**
+     * Source with default camera location of {@link Camera}
+     */
+    public CameraRotationSource() {
+    }
+
+    /**
+     * @param cameraLocationZ camera location on Z axis in inches, negative value
+     */
+    public CameraRotationSource(float cameraLocationZ) {
+        mCamera.setLocation(0, 0, cameraLocationZ);
+    }
+
+    /**
+     * @return table with default step and default camera location, built once and shared by all cells
+     */
+    public static synchronized RotationMatrixTable getDefaultTable() {
+        if (sDefaultTable == null)
+            sDefaultTable = new RotationMatrixTable(RotationMatrixTable.DEFAULT_STEP_DEGREES, new CameraRotationSource());
+        return sDefaultTable;
+    }
+
+    @Override
+    public void getRotationMatrix(float degrees, float[] values) {
+        final Camera camera = mCamera;
+        camera.save();
+        camera.rotateX(degrees);
+        camera.getMatrix(mMatrix);
+        camera.restore();
+        mMatrix.getValues(values);
+    }
+
+}
@@ -22,6 +22,8 @@ public class FoldAnimation extends Animation {
     private float mCenterX;
     private float mCenterY;
     private Camera mCamera;
+    private RotationMatrixTable mRotationTable;
+    private float[] mMatrixValues;
 
     public FoldAnimation(FoldAnimationMode foldMode, long duration) {
         this.mFoldMode = foldMode;
@@ -46,6 +48,17 @@ public class FoldAnimation extends Animation {
         return this;
     }
 
+    /**
+     * Take rotation matrices from precomputed table instead of Camera on each frame
+     *
+     * @param rotationTable table of rotation matrices, null for Camera
+     */
+    public FoldAnimation withRotationTable(RotationMatrixTable rotationTable) {
+        this.mRotationTable = rotationTable;
+        this.mMatrixValues = (rotationTable != null) ? new float[RotationMatrixTable.MATRIX_SIZE] : null;
+        return this;
+    }
+
     @Override
     public void initialize(int width, int height, int parentWidth, int parentHeight) {
         super.initialize(width, height, parentWidth, parentHeight);
@@ -84,6 +97,12 @@ public class FoldAnimation extends Animation {
         final float fromDegrees = mFromDegrees;
         final float degrees = fromDegrees + ((mToDegrees - fromDegrees) * interpolatedTime);
 
+        if (mRotationTable != null) {
+            mRotationTable.getMatrixValues(degrees, mCenterX, mCenterY, mMatrixValues);
+            matrix.setValues(mMatrixValues);
+            return;
+        }
+
         camera.save();
         camera.rotateX(degrees);
         camera.getMatrix(matrix);
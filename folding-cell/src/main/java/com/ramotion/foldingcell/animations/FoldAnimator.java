@@ -0,0 +1,323 @@
+package com.ramotion.foldingcell.animations;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.view.animation.LinearInterpolator;
+
+import java.util.ArrayList;
+
+/**
+ * Single clock for whole fold/unfold animation. One {@link ValueAnimator} computes linear progress
+ * of {@link FoldTimeline} on each frame and passes it to all targets, so rotation of every part
+ * and height of cell are always computed for the same frame, without chains of animations.
+ * Animation can be reversed at any moment, it returns to start progress from current progress.
+ * With {@link FoldFrameScheduler} progress is aligned to display frames.
+ * Animators of several cells can follow one leader animator, then all of them are updated on the same frame
+ * and are started, reversed and finished together.
+ */
+public class FoldAnimator implements ValueAnimator.AnimatorUpdateListener {
+
+    /**
+     * Receiver of timeline progress, for example view with animation parts or cell height
+     */
+    public interface Target {
+        void onFoldProgress(float progress);
+    }
+
+    /**
+     * Receiver of direction changes, called for every animator of group when any of them is reversed
+     */
+    public interface ReverseListener {
+        void onFoldReversed(FoldAnimator animator);
+    }
+
+    /**
+     * Receiver of skipped animation, called for every animator of group by {@link #end()}
+     * before target progress is applied, so work of remaining frames can be dropped
+     */
+    public interface SkipListener {
+        void onFoldSkipped(FoldAnimator animator);
+    }
+
+    private final ValueAnimator mAnimator;
+    private final ArrayList<Target> mTargets = new ArrayList<>();
+    private final ArrayList<Animator.AnimatorListener> mListeners = new ArrayList<>();
+    private final ArrayList<ReverseListener> mReverseListeners = new ArrayList<>();
+    private final ArrayList<SkipListener> mSkipListeners = new ArrayList<>();
+    private final ArrayList<FoldAnimator> mFollowers = new ArrayList<>();
+    private final float mProgressFrom;
+    private final float mProgressTo;
+    private long mDuration;
+    private float mProgress;
+    private boolean mReversed;
+    private FoldFrameScheduler mFrameScheduler;
+    private int mFrame;
+    private int mRenderedFramesCount;
+    private boolean mStarting;
+    private FoldAnimator mLeader;
+
+    /**
+     * @param progressFrom start progress, 0 for unfold animation
+     * @param progressTo   end progress, 1 for unfold animation
+     * @param duration     duration of whole animation
+     */
+    public FoldAnimator(float progressFrom, float progressTo, long duration) {
+        this.mProgressFrom = progressFrom;
+        this.mProgressTo = progressTo;
+        this.mProgress = progressFrom;
+        this.mAnimator = ValueAnimator.ofFloat(0, 1);
+        this.mAnimator.setInterpolator(new LinearInterpolator());
+        this.mAnimator.addUpdateListener(this);
+        setDuration(duration);
+    }
+
+    public FoldAnimator withTarget(Target target) {
+        if (target != null)
+            mTargets.add(target);
+        return this;
+    }
+
+    /**
+     * Align progress to frames of scheduler, duration of animation is replaced with duration of scheduler
+     *
+     * @param frameScheduler scheduler for timeline of this animation, null for progress by time only
+     */
+    public FoldAnimator withFrameScheduler(FoldFrameScheduler frameScheduler) {
+        this.mFrameScheduler = frameScheduler;
+        if (frameScheduler != null)
+            setDuration(frameScheduler.getDurationMillis());
+        return this;
+    }
+
+    public FoldAnimator withListener(Animator.AnimatorListener listener) {
+        if (listener != null) {
+            mListeners.add(listener);
+            mAnimator.addListener(listener);
+        }
+        return this;
+    }
+
+    public FoldAnimator withReverseListener(ReverseListener listener) {
+        if (listener != null)
+            mReverseListeners.add(listener);
+        return this;
+    }
+
+    public FoldAnimator withSkipListener(SkipListener listener) {
+        if (listener != null)
+            mSkipListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Drive other animator by clock of this one. Follower gets the same fraction of time on each frame,
+     * so it is stretched to duration of leader, duration of leader grows to duration of longest follower.
+     * Follower is started, reversed and finished with its leader, its listeners get end event when leader ends.
+     *
+     * @param follower animator that is not started and is not in other group
+     */
+    public FoldAnimator withFollower(FoldAnimator follower) {
+        if (follower == null || follower == this)
+            throw new IllegalArgumentException("Follower must be other animator");
+        if (follower.mLeader != null || !follower.mFollowers.isEmpty())
+            throw new IllegalArgumentException("Follower is already in group of animators");
+        if (mLeader != null)
+            throw new IllegalStateException("Follower can't lead other animators");
+        if (isRunning())
+            throw new IllegalStateException("Animator is already started");
+
+        if (mFollowers.isEmpty())
+            mAnimator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationCancel(Animator animation) {
+                    for (int i = 0; i < mFollowers.size(); i++)
+                        mFollowers.get(i).dispatchCancel();
+                }
+
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    for (int i = 0; i < mFollowers.size(); i++)
+                        mFollowers.get(i).dispatchEnd();
+                }
+            });
+        follower.mLeader = this;
+        mFollowers.add(follower);
+        if (follower.mDuration > mDuration)
+            setDuration(follower.mDuration);
+        return this;
+    }
+
+    /**
+     * @return animator that drives this one or null
+     */
+    public FoldAnimator getLeader() {
+        return mLeader;
+    }
+
+    public int getFollowersCount() {
+        return mFollowers.size();
+    }
+
+    /**
+     * Apply start progress to all targets immediately and start animation from next frame,
+     * updates of progress during start are not counted as frames
+     */
+    public void start() {
+        if (mLeader != null)
+            throw new IllegalStateException("Follower is started by its leader");
+        applyProgress(mProgressFrom);
+        for (int i = 0; i < mFollowers.size(); i++)
+            mFollowers.get(i).applyProgress(mFollowers.get(i).mProgressFrom);
+        mStarting = true;
+        try {
+            mAnimator.start();
+        } finally {
+            mStarting = false;
+        }
+    }
+
+    public void cancel() {
+        if (mLeader != null)
+            mLeader.cancel();
+        else
+            mAnimator.cancel();
+    }
+
+    /**
+     * Apply target progress to all targets immediately and finish animation,
+     * skip listeners of group are called before target progress is applied
+     */
+    public void end() {
+        if (mLeader != null) {
+            mLeader.end();
+            return;
+        }
+        dispatchSkip();
+        for (int i = 0; i < mFollowers.size(); i++)
+            mFollowers.get(i).dispatchSkip();
+        mAnimator.end();
+    }
+
+    /**
+     * Play animation backwards from current progress to start progress, or forward again if it is reversed.
+     * Listeners get single end event when animation finishes in its final direction.
+     * Animator in group reverses whole group.
+     */
+    public void reverse() {
+        if (mLeader != null) {
+            mLeader.reverse();
+            return;
+        }
+        mReversed = !mReversed;
+        for (int i = 0; i < mFollowers.size(); i++)
+            mFollowers.get(i).mReversed = mReversed;
+        mAnimator.reverse();
+        dispatchReverse();
+        for (int i = 0; i < mFollowers.size(); i++)
+            mFollowers.get(i).dispatchReverse();
+    }
+
+    public boolean isReversed() {
+        return mReversed;
+    }
+
+    /**
+     * @return progress at the end of animation in current direction
+     */
+    public float getTargetProgress() {
+        return mReversed ? mProgressFrom : mProgressTo;
+    }
+
+    public boolean isRunning() {
+        return mLeader != null ? mLeader.isRunning() : mAnimator.isRunning();
+    }
+
+    public float getProgress() {
+        return mProgress;
+    }
+
+    /**
+     * @return duration of animation, duration of leader for animator in group
+     */
+    public long getDuration() {
+        return mLeader != null ? mLeader.mDuration : mDuration;
+    }
+
+    public FoldFrameScheduler getFrameScheduler() {
+        return mFrameScheduler;
+    }
+
+    /**
+     * @return count of animation frames since start, each frame of animation is one frame of display,
+     * 0 until the first frame of clock
+     */
+    public int getRenderedFramesCount() {
+        return mRenderedFramesCount;
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        // ValueAnimator applies its start value synchronously when it is started, it is not a frame of display
+        final boolean frame = !mStarting;
+        float fraction = animation.getAnimatedFraction();
+        update(fraction, frame);
+        for (int i = 0; i < mFollowers.size(); i++)
+            mFollowers.get(i).update(fraction, frame);
+    }
+
+    private void update(float fraction, boolean frame) {
+        if (frame)
+            mRenderedFramesCount++;
+        if (mFrameScheduler != null) {
+            mFrame = mFrameScheduler.getFrame(fraction, mFrame);
+            fraction = mFrameScheduler.getFraction(mFrame);
+        }
+        applyProgress(mProgressFrom + (mProgressTo - mProgressFrom) * fraction);
+    }
+
+    private void applyProgress(float progress) {
+        mProgress = progress;
+        for (int i = 0; i < mTargets.size(); i++)
+            mTargets.get(i).onFoldProgress(progress);
+    }
+
+    private void setDuration(long duration) {
+        mDuration = duration;
+        mAnimator.setDuration(duration);
+    }
+
+    private void dispatchReverse() {
+        for (int i = 0; i < mReverseListeners.size(); i++)
+            mReverseListeners.get(i).onFoldReversed(this);
+    }
+
+    private void dispatchSkip() {
+        for (int i = 0; i < mSkipListeners.size(); i++)
+            mSkipListeners.get(i).onFoldSkipped(this);
+    }
+
+    private void dispatchCancel() {
+        for (int i = 0; i < mListeners.size(); i++)
+            mListeners.get(i).onAnimationCancel(mAnimator);
+    }
+
+    private void dispatchEnd() {
+        for (int i = 0; i < mListeners.size(); i++)
+            mListeners.get(i).onAnimationEnd(mAnimator);
+    }
+
+    @Override
+    public String toString() {
+        return "FoldAnimator{" +
+                "mProgressFrom=" + mProgressFrom +
+                ", mProgressTo=" + mProgressTo +
+                ", mProgress=" + mProgress +
+                ", mReversed=" + mReversed +
+                ", mFrame=" + mFrame +
+                ", mRenderedFramesCount=" + mRenderedFramesCount +
+                ", mFollowers=" + mFollowers.size() +
+                '}';
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.ramotion.foldingcell.animations;
+
+/**
+ * Maps fold timeline to display frames. Every 90 degree segment of {@link FoldTimeline} gets the same
+ * whole number of frames, so segment boundaries are always on frames, with any refresh rate of display.
+ * If frames are dropped, boundary frame of segment is shown anyway before animation goes to next segment,
+ * so every part reaches its final angle on screen. Pure math without Android classes, used by {@link FoldAnimator}.
+ */
+public class FoldFrameScheduler {
+
+    public static final float DEFAULT_REFRESH_RATE = 60;
+
+    private final int mSegmentsCount;
+    private final int mFramesPerSegment;
+    private final int mFramesCount;
+    private final float mFrameIntervalMillis;
+
+    /**
+     * @param segmentDurationMillis desired duration of single 90 degree segment, rounded to whole frames
+     * @param segmentsCount         count of segments in timeline, see {@link FoldTimeline#getSegmentsCount()}
+     * @param refreshRate           refresh rate of display in frames per second, {@link #DEFAULT_REFRESH_RATE} if unknown
+     */
+    public FoldFrameScheduler(float segmentDurationMillis, int segmentsCount, float refreshRate) {
+        if (segmentsCount < 1)
+            throw new IllegalArgumentException("Segments count must be positive");
+        if (segmentDurationMillis < 0)
+            throw new IllegalArgumentException("Segment duration must not be negative");
+        if (refreshRate <= 0)
+            refreshRate = DEFAULT_REFRESH_RATE;
+        this.mSegmentsCount = segmentsCount;
+        this.mFrameIntervalMillis = 1000f / refreshRate;
+        // at least one frame per segment, so no segment is skipped even with very short duration
+        this.mFramesPerSegment = Math.max(1, Math.round(segmentDurationMillis / mFrameIntervalMillis));
+        this.mFramesCount = mFramesPerSegment * segmentsCount;
+    }
+
+    public int getSegmentsCount() {
+        return mSegmentsCount;
+    }
+
+    public int getFramesPerSegment() {
+        return mFramesPerSegment;
+    }
+
+    /**
+     * @return count of frames in whole animation without dropped frames
+     */
+    public int getFramesCount() {
+        return mFramesCount;
+    }
+
+    public float getFrameIntervalMillis() {
+        return mFrameIntervalMillis;
+    }
+
+    /**
+     * @return duration of whole animation, exact multiple of frame interval rounded to milliseconds
+     */
+    public long getDurationMillis() {
+        return Math.round(mFramesCount * mFrameIntervalMillis);
+    }
+
+    /**
+     * Frame to show for elapsed fraction of animation time. Animation never jumps over segment boundary:
+     * if time passed it, boundary frame is returned and next frame continues from time position.
+     * First and last frames of animation are always returned as is.
+     *
+     * @param fraction      elapsed fraction of animation time, 0 - start, 1 - end
+     * @param previousFrame frame shown before, in any direction
+     * @return index of frame from 0 to {@link #getFramesCount()}
+     */
+    public int getFrame(float fraction, int previousFrame) {
+        int frame = Math.round(Math.max(0, Math.min(1, fraction)) * mFramesCount);
+        if (frame == 0 || frame == mFramesCount) return frame;
+
+        if (frame > previousFrame) {
+            int nextBoundary = (previousFrame / mFramesPerSegment + 1) * mFramesPerSegment;
+            return Math.min(frame, nextBoundary);
+        }
+        if (frame < previousFrame) {
+            int previousBoundary = ((previousFrame - 1) / mFramesPerSegment) * mFramesPerSegment;
+            return Math.max(frame, previousBoundary);
+        }
+        return frame;
+    }
+
+    /**
+     * @param frame index of frame from 0 to {@link #getFramesCount()}
+     * @return fraction of timeline at frame, 0 - start, 1 - end
+     */
+    public float getFraction(int frame) {
+        return (float) frame / mFramesCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FoldFrameScheduler{" +
+                "mSegmentsCount=" + mSegmentsCount +
+                ", mFramesPerSegment=" + mFramesPerSegment +
+                ", mFramesCount=" + mFramesCount +
+                ", mFrameIntervalMillis=" + mFrameIntervalMillis +
+                '}';
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.ramotion.foldingcell.animations;
+
+/**
+ * Math of whole fold/unfold animation as function of single progress value.
+ * Progress 0 means folded cell, 1 - unfolded cell, so fold animation runs progress from 1 to 0.
+ * Timeline consists of 90 degree segments: first part rotates only its front view, last part only
+ * itself, every part between rotates itself and then its front view. Cell height grows by height of
+ * next part during each two segments. Every segment is eased as
+ * {@link android.view.animation.DecelerateInterpolator} in running direction, angles of all parts and
+ * height of cell are driven by one {@link FoldAnimator}.
+ */
+public class FoldTimeline {
+
+    public static final float MAX_ANGLE = 90;
+
+    private final int[] mPartHeights;
+    private final int mSegmentsCount;
+    private final boolean mUnfoldEasing;
+
+    /**
+     * @param partHeights  heights of animation parts from top to bottom, at least 2 elements
+     * @param unfoldEasing true if segments decelerate when progress grows (unfold animation),
+     *                     false if segments decelerate when progress falls (fold animation)
+     */
+    public FoldTimeline(int[] partHeights, boolean unfoldEasing) {
+        if (partHeights == null || partHeights.length < 2)
+            throw new IllegalArgumentException("Part heights array must have at least 2 elements");
+        this.mPartHeights = partHeights;
+        this.mSegmentsCount = partHeights.length * 2 - 2;
+        this.mUnfoldEasing = unfoldEasing;
+    }
+
+    /**
+     * Divide content view to animation parts: two parts with height of title view and additional parts
+     * for remaining height. Pure math without views, used by {@link com.ramotion.foldingcell.FoldingCell}
+     *
+     * @param titleViewHeight      height of title view
+     * @param contentViewHeight    height of content view
+     * @param additionalFlipsCount count of additional flips (after first one), set 0 for auto
+     * @param reuseBuffer          array for result, used if its length is equal to parts count, can be null
+     * @return array of calculated heights, reuseBuffer or the new one
+     */
+    public static int[] calculatePartHeights(int titleViewHeight, int contentViewHeight, int additionalFlipsCount, int[] reuseBuffer) {
+        int additionalPartsTotalHeight = contentViewHeight - titleViewHeight * 2;
+        if (additionalPartsTotalHeight < 0)
+            throw new IllegalStateException("Content View height is too small");
+
+        // count parts before filling the array
+        int additionalPartsCount;
+        int additionalPartHeight;
+        int remainingHeight;
+        if (additionalPartsTotalHeight == 0) {
+            // if no space left - only two main parts
+            additionalPartsCount = 0;
+            additionalPartHeight = 0;
+            remainingHeight = 0;
+        } else if (additionalFlipsCount != 0) {
+            // 1 - additional parts count is specified and it is not 0 - divide remained space
+            additionalPartsCount = additionalFlipsCount;
+            additionalPartHeight = additionalPartsTotalHeight / additionalFlipsCount;
+            remainingHeight = additionalPartsTotalHeight % additionalFlipsCount;
+            if (additionalPartHeight + remainingHeight > titleViewHeight)
+                throw new IllegalStateException("Additional flips count is too small");
+        } else {
+            // 2 - additional parts count isn't specified or 0 - divide remained space to parts with title view size
+            additionalPartHeight = titleViewHeight;
+            remainingHeight = additionalPartsTotalHeight % titleViewHeight;
+            additionalPartsCount = additionalPartsTotalHeight / titleViewHeight + (remainingHeight > 0 ? 1 : 0);
+        }
+
+        int partsCount = additionalPartsCount + 2;
+        int[] partHeights = (reuseBuffer != null && reuseBuffer.length == partsCount) ? reuseBuffer : new int[partsCount];
+
+        // add two main parts - guarantee first flip
+        partHeights[0] = titleViewHeight;
+        partHeights[1] = titleViewHeight;
+
+        for (int i = 0; i < additionalPartsCount; i++) {
+            if (additionalFlipsCount != 0)
+                // remaining height goes to first additional part
+                partHeights[i + 2] = additionalPartHeight + (i == 0 ? remainingHeight : 0);
+            else
+                // remaining height is last small part
+                partHeights[i + 2] = (remainingHeight > 0 && i == additionalPartsCount - 1) ? remainingHeight : additionalPartHeight;
+        }
+
+        return partHeights;
+    }
+
+    public int getPartsCount() {
+        return mPartHeights.length;
+    }
+
+    /**
+     * @return heights of parts, array is not copied and must not be changed
+     */
+    public int[] getPartHeights() {
+        return mPartHeights;
+    }
+
+    public int getPartHeight(int part) {
+        return mPartHeights[part];
+    }
+
+    /**
+     * @return count of 90 degree rotations in timeline
+     */
+    public int getSegmentsCount() {
+        return mSegmentsCount;
+    }
+
+    public boolean isUnfoldEasing() {
+        return mUnfoldEasing;
+    }
+
+    /**
+     * Rotation of whole part around its top edge, 90 - part is hidden under previous one, 0 - part is open
+     *
+     * @param part     index of part from top
+     * @param progress timeline progress
+     * @return rotation angle in degrees
+     */
+    public float getPartAngle(int part, float progress) {
+        if (part == 0) return 0;
+        return MAX_ANGLE * (1 - ease(progress * mSegmentsCount - (part * 2 - 1)));
+    }
+
+    /**
+     * Rotation of part front view around its bottom edge, 0 - front view covers part, -90 - front view is folded down
+     *
+     * @param part     index of part from top
+     * @param progress timeline progress
+     * @return rotation angle in degrees, always 0 for last part that has no front view
+     */
+    public float getFrontAngle(int part, float progress) {
+        if (part == mPartHeights.length - 1) return 0;
+        return -MAX_ANGLE * ease(progress * mSegmentsCount - part * 2);
+    }
+
+    /**
+     * @param progress timeline progress
+     * @return height of cell
+     */
+    public int getHeight(float progress) {
+        float blocksProgress = progress * (mPartHeights.length - 1);
+        float height = mPartHeights[0];
+        for (int i = 1; i < mPartHeights.length; i++)
+            height += mPartHeights[i] * ease(blocksProgress - (i - 1));
+        return (int) height;
+    }
+
+    /**
+     * @return height of cell in unfolded state
+     */
+    public int getTotalHeight() {
+        int height = 0;
+        for (int partHeight : mPartHeights)
+            height += partHeight;
+        return height;
+    }
+
+    /**
+     * Eased local progress of segment
+     *
+     * @param input linear local progress of segment, clamped to [0, 1]
+     * @return eased local progress
+     */
+    protected float ease(float input) {
+        if (input <= 0) return 0;
+        if (input >= 1) return 1;
+        if (mUnfoldEasing)
+            return 1.0f - (1.0f - input) * (1.0f - input);
+        // decelerate in reverse direction
+        return input * input;
+    }
+
+}
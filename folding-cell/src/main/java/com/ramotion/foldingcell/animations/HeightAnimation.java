@@ -7,7 +7,11 @@ import android.view.animation.Transformation;
 
 /**
  * Height animation implementation
+ *
+ * @deprecated height of cell is changed by {@link FoldAnimator} together with rotation of parts,
+ * see {@link FoldTimeline#getHeight(float)}
  */
+@Deprecated
 public class HeightAnimation extends Animation {
 
     private final View mView;
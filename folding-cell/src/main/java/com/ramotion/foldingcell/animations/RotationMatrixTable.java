@@ -0,0 +1,98 @@
+package com.ramotion.foldingcell.animations;
+
+/**
+ * Precomputed 3x3 matrices of rotation around X axis for quantized angles in range [-90, 90],
+ * replacement for Camera.save(), Camera.rotateX(), Camera.getMatrix(), Camera.restore() and two
+ * translations on each frame. Matrix for any angle is interpolated between two nearest table entries,
+ * pivot of rotation is applied to interpolated matrix, so one table is shared by parts of any size.
+ * Table depends only on camera distance of its {@link Source}.
+ */
+public class RotationMatrixTable {
+
+    /**
+     * Calculator of exact rotation matrix, used once for each table entry
+     */
+    public interface Source {
+        /**
+         * @param degrees rotation around X axis
+         * @param values  9 values of rotation matrix in android.graphics.Matrix order
+         */
+        void getRotationMatrix(float degrees, float[] values);
+    }
+
+    public static final int MATRIX_SIZE = 9;
+    public static final float DEFAULT_STEP_DEGREES = 0.5f;
+
+    private final float mStepDegrees;
+    private final int mStepsCount;
+    private final float[] mValues;
+
+    /**
+     * @param stepDegrees angle between table entries, 180 must be divisible by it
+     * @param source      calculator of exact matrices
+     */
+    public RotationMatrixTable(float stepDegrees, Source source) {
+        if (stepDegrees <= 0 || stepDegrees > FoldTimeline.MAX_ANGLE * 2)
+            throw new IllegalArgumentException("Step must be in range (0, 180]");
+        if (source == null)
+            throw new IllegalArgumentException("Source of matrices must be not null");
+        this.mStepDegrees = stepDegrees;
+        this.mStepsCount = Math.round(FoldTimeline.MAX_ANGLE * 2 / stepDegrees);
+        this.mValues = new float[(mStepsCount + 1) * MATRIX_SIZE];
+
+        final float[] entry = new float[MATRIX_SIZE];
+        for (int i = 0; i <= mStepsCount; i++) {
+            source.getRotationMatrix(-FoldTimeline.MAX_ANGLE + i * stepDegrees, entry);
+            System.arraycopy(entry, 0, mValues, i * MATRIX_SIZE, MATRIX_SIZE);
+        }
+    }
+
+    public float getStepDegrees() {
+        return mStepDegrees;
+    }
+
+    /**
+     * @return count of matrices in table
+     */
+    public int getEntriesCount() {
+        return mStepsCount + 1;
+    }
+
+    /**
+     * Same result as camera rotation with preTranslate(-centerX, -centerY) and postTranslate(centerX, centerY)
+     *
+     * @param degrees rotation around X axis, clamped to [-90, 90]
+     * @param centerX pivot x
+     * @param centerY pivot y
+     * @param out     array for 9 values of matrix in android.graphics.Matrix order
+     */
+    public void getMatrixValues(float degrees, float centerX, float centerY, float[] out) {
+        float position = (degrees + FoldTimeline.MAX_ANGLE) / mStepDegrees;
+        if (position <= 0) position = 0;
+        if (position >= mStepsCount) position = mStepsCount;
+        int index = (int) position;
+        if (index == mStepsCount) index--;
+        final float fraction = position - index;
+
+        // interpolate between nearest entries
+        final float[] values = mValues;
+        final int from = index * MATRIX_SIZE;
+        final int to = from + MATRIX_SIZE;
+        for (int i = 0; i < MATRIX_SIZE; i++)
+            out[i] = values[from + i] + (values[to + i] - values[from + i]) * fraction;
+
+        // M' = T(center) * M * T(-center)
+        final float a = out[0], b = out[1], d = out[3], e = out[4], g = out[6], h = out[7];
+        final float c = out[2] - a * centerX - b * centerY;
+        final float f = out[5] - d * centerX - e * centerY;
+        final float i = out[8] - g * centerX - h * centerY;
+        out[0] = a + centerX * g;
+        out[1] = b + centerX * h;
+        out[2] = c + centerX * i;
+        out[3] = d + centerY * g;
+        out[4] = e + centerY * h;
+        out[5] = f + centerY * i;
+        out[8] = i;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.ramotion.foldingcell.animations;
+
+import android.annotation.TargetApi;
+import android.graphics.Rect;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+/**
+ * Height of view without layout passes: visible height of view is limited by clip bounds
+ * and following siblings of view are translated to its visible bottom. Layout height of view stays the same,
+ * so new height must be applied by single layout when animation ends. Requires API 18+.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+public final class VisibleHeight {
+
+    private VisibleHeight() {
+    }
+
+    /**
+     * Show only top part of view with specified height and move following siblings to its bottom
+     *
+     * @param view          animated view
+     * @param visibleHeight visible height of view, can be bigger than layout height
+     * @param clipBounds    reusable rect for clip bounds
+     */
+    public static void apply(View view, int visibleHeight, Rect clipBounds) {
+        int width = view.getWidth();
+        // clip horizontally with margin, parts rotated to camera are wider than view
+        clipBounds.set(-width, 0, width * 2, visibleHeight);
+        view.setClipBounds(clipBounds);
+        translateFollowingSiblings(view, visibleHeight - view.getHeight());
+    }
+
+    /**
+     * Remove clip bounds of view and translation of its following siblings
+     *
+     * @param view animated view
+     */
+    public static void reset(View view) {
+        view.setClipBounds(null);
+        translateFollowingSiblings(view, 0);
+    }
+
+    private static void translateFollowingSiblings(View view, float translationY) {
+        ViewParent parent = view.getParent();
+        if (!(parent instanceof ViewGroup)) return;
+        ViewGroup viewGroup = (ViewGroup) parent;
+        for (int i = viewGroup.indexOfChild(view) + 1; i < viewGroup.getChildCount(); i++)
+            viewGroup.getChildAt(i).setTranslationY(translationY);
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.ramotion.foldingcell.metrics;
+
+/**
+ * Timings of single fold or unfold animation, from call of fold/unfold to the end of animation.
+ * Phases are recorded by cell with {@link System#nanoTime()} timestamps, all durations are in nanoseconds.
+ */
+public class FoldMetrics {
+
+    public static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
+    private final boolean mUnfold;
+    private final long mFrameIntervalNanos;
+
+    private boolean mReversed;
+    private boolean mSetupFinished;
+    private long mStartNanos;
+    private long mCaptureEndNanos;
+    private long mSlicingEndNanos;
+    private long mSetupEndNanos;
+    private long mFirstFrameNanos;
+    private long mLastFrameNanos;
+    private long mEndNanos;
+    private int mFramesCount;
+    private int mDroppedFramesCount;
+
+    /**
+     * @param unfold             true for unfold animation, false for fold animation
+     * @param frameIntervalNanos expected interval between frames, used to count dropped frames
+     */
+    public FoldMetrics(boolean unfold, long frameIntervalNanos) {
+        if (frameIntervalNanos <= 0)
+            throw new IllegalArgumentException("Frame interval must be positive");
+        this.mUnfold = unfold;
+        this.mFrameIntervalNanos = frameIntervalNanos;
+    }
+
+    public void markStart(long nanos) {
+        mStartNanos = nanos;
+    }
+
+    /**
+     * Snapshots of title and content views are taken
+     */
+    public void markCaptureEnd(long nanos) {
+        mCaptureEndNanos = nanos;
+    }
+
+    /**
+     * Snapshots are divided to animation parts
+     */
+    public void markSlicingEnd(long nanos) {
+        mSlicingEndNanos = nanos;
+    }
+
+    /**
+     * Animation view is added to cell and animation is started
+     */
+    public void markSetupEnd(long nanos) {
+        mSetupEndNanos = nanos;
+        mSetupFinished = true;
+    }
+
+    /**
+     * Animation frame is computed, frames before end of setup are ignored
+     */
+    public void markFrame(long nanos) {
+        if (!mSetupFinished) return;
+        if (mFramesCount == 0) {
+            mFirstFrameNanos = nanos;
+        } else {
+            // frames that should be between this frame and previous one are dropped
+            int intervals = (int) ((nanos - mLastFrameNanos + mFrameIntervalNanos / 2) / mFrameIntervalNanos);
+            if (intervals > 1)
+                mDroppedFramesCount += intervals - 1;
+        }
+        mLastFrameNanos = nanos;
+        mFramesCount++;
+    }
+
+    /**
+     * Animation is reversed to opposite direction
+     */
+    public void markReversed() {
+        mReversed = true;
+    }
+
+    public void markEnd(long nanos) {
+        mEndNanos = nanos;
+    }
+
+    /**
+     * @return true if animation started as unfold animation
+     */
+    public boolean isUnfold() {
+        return mUnfold;
+    }
+
+    /**
+     * @return true if animation was reversed, so it ended in state it started from
+     */
+    public boolean isReversed() {
+        return mReversed;
+    }
+
+    public long getCaptureNanos() {
+        return mCaptureEndNanos - mStartNanos;
+    }
+
+    public long getSlicingNanos() {
+        return mSlicingEndNanos - mCaptureEndNanos;
+    }
+
+    public long getViewSetupNanos() {
+        return mSetupEndNanos - mSlicingEndNanos;
+    }
+
+    /**
+     * @return time from call of fold/unfold to first animation frame, 0 if there were no frames
+     */
+    public long getFirstFrameNanos() {
+        return mFramesCount > 0 ? mFirstFrameNanos - mStartNanos : 0;
+    }
+
+    public long getTotalNanos() {
+        return mEndNanos - mStartNanos;
+    }
+
+    public int getFramesCount() {
+        return mFramesCount;
+    }
+
+    public int getDroppedFramesCount() {
+        return mDroppedFramesCount;
+    }
+
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "FoldMetrics{" +
+                "mUnfold=" + mUnfold +
+                ", mReversed=" + mReversed +
+                ", captureNanos=" + getCaptureNanos() +
+                ", slicingNanos=" + getSlicingNanos() +
+                ", viewSetupNanos=" + getViewSetupNanos() +
+                ", firstFrameNanos=" + getFirstFrameNanos() +
+                ", totalNanos=" + getTotalNanos() +
+                ", mFramesCount=" + mFramesCount +
+                ", mDroppedFramesCount=" + mDroppedFramesCount +
+                '}';
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ramotion.foldingcell.metrics;
+
+import com.ramotion.foldingcell.FoldingCell;
+
+/**
+ * Receiver of timings of finished fold and unfold animations, for example for telemetry
+ */
+public interface FoldMetricsSink {
+
+    /**
+     * Called on UI thread when animation ends
+     *
+     * @param cell    animated cell
+     * @param metrics timings of animation, object is not reused by cell
+     */
+    void onFoldMetrics(FoldingCell cell, FoldMetrics metrics);
+
+}
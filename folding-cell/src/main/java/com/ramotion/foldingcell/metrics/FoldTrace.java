@@ -0,0 +1,106 @@
+package com.ramotion.foldingcell.metrics;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+import java.lang.reflect.Method;
+
+/**
+ * Named sections of fold pipeline for systrace and Perfetto. Sections are disabled by default and cost
+ * only check of static flag, enable them with {@link #setEnabled(boolean)} before profiling.
+ * Sections work on API 18+, async sections spanning whole animation are taken from
+ * android.os.Trace by reflection, because they are not public on older platforms.
+ */
+public final class FoldTrace {
+
+    private static volatile boolean sEnabled;
+
+    private static boolean sAsyncResolved;
+    private static Method sAsyncBeginMethod;
+    private static Method sAsyncEndMethod;
+    // trace tag argument of hidden methods, null for public methods of API 29+
+    private static Long sAsyncTraceTag;
+
+    private FoldTrace() {
+    }
+
+    /**
+     * @param enabled true to write trace sections of all cells, switch it when no animation is running
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    public static void beginSection(String sectionName) {
+        if (sEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2)
+            Trace.beginSection(sectionName);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    public static void endSection() {
+        if (sEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2)
+            Trace.endSection();
+    }
+
+    /**
+     * Begin section that can end on other frame
+     *
+     * @param sectionName name of section
+     * @param cookie      unique identifier of section among sections with same name
+     */
+    public static void beginAsyncSection(String sectionName, int cookie) {
+        if (sEnabled)
+            invokeAsync(true, sectionName, cookie);
+    }
+
+    public static void endAsyncSection(String sectionName, int cookie) {
+        if (sEnabled)
+            invokeAsync(false, sectionName, cookie);
+    }
+
+    private static synchronized void invokeAsync(boolean begin, String sectionName, int cookie) {
+        if (!sAsyncResolved) {
+            sAsyncResolved = true;
+            resolveAsyncMethods();
+        }
+        Method method = begin ? sAsyncBeginMethod : sAsyncEndMethod;
+        if (method == null) return;
+        try {
+            if (sAsyncTraceTag == null)
+                method.invoke(null, sectionName, cookie);
+            else
+                method.invoke(null, sAsyncTraceTag, sectionName, cookie);
+        } catch (Exception e) {
+            // async sections are not available, other sections still work
+            sAsyncBeginMethod = null;
+            sAsyncEndMethod = null;
+        }
+    }
+
+    private static void resolveAsyncMethods() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) return;
+        try {
+            // public since API 29
+            sAsyncBeginMethod = Trace.class.getMethod("beginAsyncSection", String.class, int.class);
+            sAsyncEndMethod = Trace.class.getMethod("endAsyncSection", String.class, int.class);
+            sAsyncTraceTag = null;
+            return;
+        } catch (Exception ignored) {
+        }
+        try {
+            sAsyncTraceTag = Trace.class.getField("TRACE_TAG_APP").getLong(null);
+            sAsyncBeginMethod = Trace.class.getMethod("asyncTraceBegin", long.class, String.class, int.class);
+            sAsyncEndMethod = Trace.class.getMethod("asyncTraceEnd", long.class, String.class, int.class);
+        } catch (Exception e) {
+            sAsyncBeginMethod = null;
+            sAsyncEndMethod = null;
+        }
+    }
+
+}
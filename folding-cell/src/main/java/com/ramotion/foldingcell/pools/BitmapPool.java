@@ -0,0 +1,218 @@
+package com.ramotion.foldingcell.pools;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size-bucketed pool of bitmaps for cell snapshots and animation parts.
+ * Bitmaps are grouped by allocation size rounded up to the power of two. On API 19+ pooled bitmap
+ * is reused for any smaller request via {@link Bitmap#reconfigure}, on older platforms only bitmaps
+ * with exactly the same size and config are reused.
+ */
+public class BitmapPool {
+
+    private static BitmapPool sDefaultPool;
+
+    // bucket size in bytes -> bitmaps with allocation size in (bucket / 2, bucket]
+    private final TreeMap<Integer, ArrayList<Bitmap>> mBuckets = new TreeMap<>();
+
+    private int mMaxSizeBytes;
+    private int mCurrentSizeBytes;
+
+    // statistic
+    private int mHitCount;
+    private int mMissCount;
+    private int mEvictionCount;
+
+    /**
+     * @param maxSizeBytes max total size of bitmaps held by pool
+     */
+    public BitmapPool(int maxSizeBytes) {
+        if (maxSizeBytes < 0)
+            throw new IllegalArgumentException("Max size must be not negative");
+        this.mMaxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Pool shared by all folding cells by default, limited to 1/16 of max heap size
+     */
+    public static synchronized BitmapPool getDefault() {
+        if (sDefaultPool == null)
+            sDefaultPool = new BitmapPool((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 16));
+        return sDefaultPool;
+    }
+
+    /**
+     * Take bitmap with specified size and config from pool or create the new one.
+     * Reused bitmaps are cleared to transparent color.
+     *
+     * @param width  bitmap width
+     * @param height bitmap height
+     * @param config bitmap config
+     * @return mutable bitmap with requested size
+     */
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        Bitmap bitmap = takeFromBucket(width, height, config);
+        if (bitmap == null) {
+            mMissCount++;
+            return Bitmap.createBitmap(width, height, config);
+        }
+        mHitCount++;
+        bitmap.eraseColor(Color.TRANSPARENT);
+        return bitmap;
+    }
+
+    /**
+     * Return bitmap to pool. Bitmap must not be used by caller after this call.
+     *
+     * @param bitmap bitmap to return, ignored if null, recycled or immutable
+     */
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable()) return;
+        int size = getAllocationSize(bitmap);
+        if (size > mMaxSizeBytes) {
+            bitmap.recycle();
+            mEvictionCount++;
+            return;
+        }
+        int bucket = getBucket(size);
+        ArrayList<Bitmap> bitmaps = mBuckets.get(bucket);
+        if (bitmaps == null) {
+            bitmaps = new ArrayList<>();
+            mBuckets.put(bucket, bitmaps);
+        }
+        bitmaps.add(bitmap);
+        mCurrentSizeBytes += size;
+        trimToSize(mMaxSizeBytes);
+    }
+
+    /**
+     * Recycle all pooled bitmaps
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    /**
+     * Change max size of pool, evicting bitmaps if required
+     *
+     * @param maxSizeBytes max total size of bitmaps held by pool
+     */
+    public synchronized void setMaxSize(int maxSizeBytes) {
+        if (maxSizeBytes < 0)
+            throw new IllegalArgumentException("Max size must be not negative");
+        this.mMaxSizeBytes = maxSizeBytes;
+        trimToSize(maxSizeBytes);
+    }
+
+    public synchronized int getMaxSize() {
+        return mMaxSizeBytes;
+    }
+
+    public synchronized int getCurrentSize() {
+        return mCurrentSizeBytes;
+    }
+
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    public synchronized int getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    /**
+     * Evict bitmaps from biggest buckets until total size fits to specified limit, max size of pool is not changed
+     *
+     * @param maxSizeBytes size of pooled bitmaps to keep
+     */
+    public synchronized void trimToSize(int maxSizeBytes) {
+        while (mCurrentSizeBytes > maxSizeBytes && !mBuckets.isEmpty()) {
+            Map.Entry<Integer, ArrayList<Bitmap>> biggest = mBuckets.lastEntry();
+            ArrayList<Bitmap> bitmaps = biggest.getValue();
+            Bitmap evicted = bitmaps.remove(bitmaps.size() - 1);
+            if (bitmaps.isEmpty())
+                mBuckets.remove(biggest.getKey());
+            mCurrentSizeBytes -= getAllocationSize(evicted);
+            evicted.recycle();
+            mEvictionCount++;
+        }
+    }
+
+    private Bitmap takeFromBucket(int width, int height, Bitmap.Config config) {
+        int requiredSize = width * height * getBytesPerPixel(config);
+        boolean canReconfigure = Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT;
+        // own bucket and next one are checked, so reused bitmap is at most 4x bigger than requested
+        int bucket = getBucket(requiredSize);
+        for (int i = 0; i < (canReconfigure ? 2 : 1); i++, bucket <<= 1) {
+            ArrayList<Bitmap> bitmaps = mBuckets.get(bucket);
+            if (bitmaps == null) continue;
+            for (int j = bitmaps.size() - 1; j >= 0; j--) {
+                Bitmap candidate = bitmaps.get(j);
+                boolean fits = canReconfigure
+                        ? getAllocationSize(candidate) >= requiredSize
+                        : candidate.getWidth() == width && candidate.getHeight() == height && candidate.getConfig() == config;
+                if (!fits) continue;
+                bitmaps.remove(j);
+                if (bitmaps.isEmpty())
+                    mBuckets.remove(bucket);
+                mCurrentSizeBytes -= getAllocationSize(candidate);
+                if (canReconfigure)
+                    reconfigure(candidate, width, height, config);
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static void reconfigure(Bitmap bitmap, int width, int height, Bitmap.Config config) {
+        if (bitmap.getWidth() != width || bitmap.getHeight() != height || bitmap.getConfig() != config)
+            bitmap.reconfigure(width, height, config);
+    }
+
+    /**
+     * @return size of memory used by bitmap in bytes
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    public static int getAllocationSize(Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT)
+            return bitmap.getAllocationByteCount();
+        return bitmap.getByteCount();
+    }
+
+    /**
+     * @return smallest power of two that is equal or greater than size
+     */
+    static int getBucket(int size) {
+        if (size <= 1) return 1;
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    /**
+     * @return size of one pixel of bitmap with specified config in bytes
+     */
+    public static int getBytesPerPixel(Bitmap.Config config) {
+        if (config == null) return 4;
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.ramotion.foldingcell.pools;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+
+import com.ramotion.foldingcell.views.FoldingCellView;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of views for scaffold of fold animation: layout container, {@link FoldingCellView} for each part
+ * and image views of parts. Views are reset when animation ends and reused with their layout params,
+ * so repeated animations don't create views. Pool can be owned by single cell or shared by cells of
+ * one activity, views of pool are bound to context they were created with. Must be used from UI thread.
+ */
+public class FoldViewPool {
+
+    public static final int DEFAULT_MAX_VIEWS_PER_TYPE = 32;
+
+    private final ArrayList<LinearLayout> mContainers = new ArrayList<>();
+    private final ArrayList<FoldingCellView> mFoldingCellViews = new ArrayList<>();
+    private final ArrayList<ImageView> mImageViews = new ArrayList<>();
+    private final int mMaxViewsPerType;
+
+    // statistic
+    private int mCreatedCount;
+    private int mReusedCount;
+
+    public FoldViewPool() {
+        this(DEFAULT_MAX_VIEWS_PER_TYPE);
+    }
+
+    /**
+     * @param maxViewsPerType max count of pooled views of each type
+     */
+    public FoldViewPool(int maxViewsPerType) {
+        if (maxViewsPerType < 0)
+            throw new IllegalArgumentException("Max views count must be not negative");
+        this.mMaxViewsPerType = maxViewsPerType;
+    }
+
+    /**
+     * @return empty vertical container with MATCH_PARENT x WRAP_CONTENT layout params
+     */
+    public LinearLayout acquireContainer(Context context) {
+        LinearLayout container = take(mContainers, context);
+        if (container == null) {
+            mCreatedCount++;
+            container = new LinearLayout(context);
+            container.setLayoutParams(new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        }
+        return container;
+    }
+
+    /**
+     * @return FoldingCellView with specified front and back views
+     */
+    public FoldingCellView acquireFoldingCellView(View frontView, View backView, Context context) {
+        FoldingCellView foldingCellView = take(mFoldingCellViews, context);
+        if (foldingCellView == null) {
+            mCreatedCount++;
+            return new FoldingCellView(frontView, backView, context);
+        }
+        return foldingCellView.withBackView(backView).withFrontView(frontView);
+    }
+
+    /**
+     * @return image view without image and background, layout params of reused view are kept
+     */
+    public ImageView acquireImageView(Context context) {
+        ImageView imageView = take(mImageViews, context);
+        if (imageView == null) {
+            mCreatedCount++;
+            imageView = new ImageView(context);
+        }
+        return imageView;
+    }
+
+    /**
+     * Reset animation view removed from cell and keep it and its children for next animations.
+     * Views that are not created by pool, like views that draw live views or bitmaps, are dropped.
+     *
+     * @param view container or its part without parent
+     */
+    public void release(View view) {
+        if (view instanceof FoldingCellView) {
+            FoldingCellView foldingCellView = (FoldingCellView) view;
+            View frontView = foldingCellView.getFrontView();
+            View backView = foldingCellView.getBackView();
+            foldingCellView.reset();
+            release(frontView);
+            release(backView);
+            resetView(foldingCellView);
+            put(mFoldingCellViews, foldingCellView);
+        } else if (view instanceof LinearLayout) {
+            LinearLayout container = (LinearLayout) view;
+            View[] children = new View[container.getChildCount()];
+            for (int i = 0; i < children.length; i++)
+                children[i] = container.getChildAt(i);
+            container.removeAllViews();
+            for (View child : children)
+                release(child);
+            resetView(container);
+            put(mContainers, container);
+        } else if (view != null && view.getClass() == ImageView.class) {
+            ImageView imageView = (ImageView) view;
+            imageView.setImageDrawable(null);
+            imageView.setScaleType(ImageView.ScaleType.FIT_CENTER);
+            resetView(imageView);
+            put(mImageViews, imageView);
+        }
+    }
+
+    /**
+     * Drop all pooled views
+     */
+    public void clear() {
+        mContainers.clear();
+        mFoldingCellViews.clear();
+        mImageViews.clear();
+    }
+
+    /**
+     * @return count of views created by pool
+     */
+    public int getCreatedCount() {
+        return mCreatedCount;
+    }
+
+    /**
+     * @return count of views taken from pool instead of creation
+     */
+    public int getReusedCount() {
+        return mReusedCount;
+    }
+
+    /**
+     * @return count of views in pool now
+     */
+    public int getPooledCount() {
+        return mContainers.size() + mFoldingCellViews.size() + mImageViews.size();
+    }
+
+    private <T extends View> T take(ArrayList<T> views, Context context) {
+        for (int i = views.size() - 1; i >= 0; i--) {
+            if (views.get(i).getContext() == context) {
+                mReusedCount++;
+                return views.remove(i);
+            }
+        }
+        return null;
+    }
+
+    private <T extends View> void put(ArrayList<T> views, T view) {
+        if (view.getParent() != null)
+            throw new IllegalStateException("View must be removed from parent before release");
+        if (views.size() < mMaxViewsPerType && !views.contains(view))
+            views.add(view);
+    }
+
+    private static void resetView(View view) {
+        view.clearAnimation();
+        view.setBackground(null);
+        view.setLayerType(View.LAYER_TYPE_NONE, null);
+        view.setRotationX(0);
+        view.setVisibility(View.VISIBLE);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.ramotion.foldingcell.views;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Drawable that displays rectangular region of shared bitmap without copying its pixels.
+ */
+public class BitmapRegionDrawable extends Drawable {
+
+    private final Bitmap mBitmap;
+    private final Rect mSrcRect;
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.DITHER_FLAG);
+
+    /**
+     * @param bitmap source bitmap, shared with other drawables
+     * @param top    top offset of region in source bitmap
+     * @param height height of region, region always covers full bitmap width
+     */
+    public BitmapRegionDrawable(Bitmap bitmap, int top, int height) {
+        this.mBitmap = bitmap;
+        this.mSrcRect = new Rect(0, top, bitmap.getWidth(), top + height);
+    }
+
+    public Bitmap getBitmap() {
+        return mBitmap;
+    }
+
+    public Rect getSourceRect() {
+        return mSrcRect;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        canvas.drawBitmap(mBitmap, mSrcRect, getBounds(), mPaint);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mPaint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        mPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mSrcRect.width();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mSrcRect.height();
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.ramotion.foldingcell.views;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Camera;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.view.View;
+
+import com.ramotion.foldingcell.animations.FoldAnimator;
+import com.ramotion.foldingcell.animations.FoldTimeline;
+import com.ramotion.foldingcell.animations.RotationMatrixTable;
+
+/**
+ * Single view that draws all parts of folding animation itself,
+ * replacement for container with {@link FoldingCellView} for each part.
+ */
+public class FoldingCellRendererView extends View implements FoldAnimator.Target {
+
+    private final Bitmap mTitleBitmap;
+    private final Bitmap mContentBitmap;
+    private FoldTimeline mTimeline;
+    private float mProgress;
+
+    private final Camera mCamera = new Camera();
+    private final Matrix mMatrix = new Matrix();
+    private final float[] mMatrixValues = new float[RotationMatrixTable.MATRIX_SIZE];
+    private RotationMatrixTable mRotationTable;
+    private final Rect mSrcRect = new Rect();
+    private final Rect mDestRect = new Rect();
+    private final Paint mBitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG | Paint.DITHER_FLAG);
+    private final Paint mBackSidePaint = new Paint();
+
+    /**
+     * @param titleBitmap   bitmap from title view, front side of first part
+     * @param contentBitmap bitmap from content view, divided to parts by timeline heights,
+     *                      bitmaps can be downscaled snapshots of views, they are upscaled with filtering
+     * @param timeline      timeline with heights of parts
+     * @param backSideColor color of back side of parts
+     * @param context       context
+     */
+    public FoldingCellRendererView(Bitmap titleBitmap, Bitmap contentBitmap, FoldTimeline timeline, int backSideColor, Context context) {
+        super(context);
+        this.mTitleBitmap = titleBitmap;
+        this.mContentBitmap = contentBitmap;
+        this.mTimeline = timeline;
+        this.mBackSidePaint.setColor(backSideColor);
+    }
+
+    public FoldTimeline getTimeline() {
+        return mTimeline;
+    }
+
+    /**
+     * Replace timeline, for example to change easing direction. Heights of parts must be the same.
+     */
+    public void setTimeline(FoldTimeline timeline) {
+        this.mTimeline = timeline;
+        invalidate();
+    }
+
+    public RotationMatrixTable getRotationTable() {
+        return mRotationTable;
+    }
+
+    /**
+     * @param rotationTable table of rotation matrices, null to compute rotation by Camera on each frame
+     */
+    public void setRotationTable(RotationMatrixTable rotationTable) {
+        this.mRotationTable = rotationTable;
+        invalidate();
+    }
+
+    public float getProgress() {
+        return mProgress;
+    }
+
+    /**
+     * @param progress timeline progress, 0 - folded, 1 - unfolded
+     */
+    public void setProgress(float progress) {
+        if (this.mProgress == progress) return;
+        this.mProgress = progress;
+        invalidate();
+    }
+
+    @Override
+    public void onFoldProgress(float progress) {
+        setProgress(progress);
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(getDefaultSize(getSuggestedMinimumWidth(), widthMeasureSpec), mTimeline.getTotalHeight());
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        final FoldTimeline timeline = mTimeline;
+        final int width = getWidth();
+        final float centerX = width / 2;
+        final int partsCount = timeline.getPartsCount();
+        // snapshots can be downscaled, regions of content bitmap are in its own coordinates
+        final float contentScale = (float) mContentBitmap.getHeight() / timeline.getTotalHeight();
+
+        int partTop = 0;
+        for (int i = 0; i < partsCount; i++) {
+            int partHeight = timeline.getPartHeight(i);
+            float partAngle = timeline.getPartAngle(i, mProgress);
+            // part that rotated for 90 degree is invisible, same as its front view
+            if (partAngle < FoldTimeline.MAX_ANGLE) {
+                int saveCount = canvas.save();
+                canvas.translate(0, partTop);
+                concatRotation(canvas, partAngle, centerX, 0);
+
+                // back view - region of content bitmap
+                mSrcRect.set(0, Math.round(partTop * contentScale), mContentBitmap.getWidth(),
+                        Math.round((partTop + partHeight) * contentScale));
+                mDestRect.set(0, 0, width, partHeight);
+                canvas.drawBitmap(mContentBitmap, mSrcRect, mDestRect, mBitmapPaint);
+
+                // front view - title bitmap for first part, back side for others, aligned to part bottom
+                float frontAngle = timeline.getFrontAngle(i, mProgress);
+                if (i < partsCount - 1 && frontAngle > -FoldTimeline.MAX_ANGLE) {
+                    // height of title view is height of first part
+                    int frontHeight = (i == 0) ? partHeight : timeline.getPartHeight(i + 1);
+                    canvas.translate(0, partHeight - frontHeight);
+                    concatRotation(canvas, frontAngle, centerX, frontHeight);
+                    if (i == 0) {
+                        mDestRect.set(0, 0, width, frontHeight);
+                        canvas.drawBitmap(mTitleBitmap, null, mDestRect, mBitmapPaint);
+                    } else
+                        canvas.drawRect(0, 0, width, frontHeight, mBackSidePaint);
+                }
+                canvas.restoreToCount(saveCount);
+            }
+            partTop += partHeight;
+        }
+    }
+
+    /**
+     * Apply same transformation as {@link com.ramotion.foldingcell.animations.FoldAnimation}
+     */
+    private void concatRotation(Canvas canvas, float degrees, float centerX, float centerY) {
+        if (degrees == 0) return;
+        final Matrix matrix = mMatrix;
+        if (mRotationTable != null) {
+            mRotationTable.getMatrixValues(degrees, centerX, centerY, mMatrixValues);
+            matrix.setValues(mMatrixValues);
+            canvas.concat(matrix);
+            return;
+        }
+
+        final Camera camera = mCamera;
+        camera.save();
+        camera.rotateX(degrees);
+        camera.getMatrix(matrix);
+        camera.restore();
+
+        matrix.preTranslate(-centerX, -centerY);
+        matrix.postTranslate(centerX, centerY);
+        canvas.concat(matrix);
+    }
+
+}
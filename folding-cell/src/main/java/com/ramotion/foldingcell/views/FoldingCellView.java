@@ -3,19 +3,23 @@ package com.ramotion.foldingcell.views;
 import android.content.Context;
 import android.util.AttributeSet;
 import android.view.View;
+import android.view.ViewGroup;
 import android.view.animation.Animation;
-import android.widget.RelativeLayout;
 
 /**
- * Basic element for folding animation.
+ * Basic element for folding animation, front view is stacked over back view, both aligned to bottom edge.
  */
-public class FoldingCellView extends RelativeLayout {
+public class FoldingCellView extends StackLayout {
+
+    // camera distance of android.graphics.Camera used by FoldAnimation, in inches
+    private static final float CAMERA_DISTANCE = 8;
 
     private View mBackView;
     private View mFrontView;
 
     public FoldingCellView(Context context, AttributeSet attrs) {
         super(context, attrs);
+        this.setAlignBottom(true);
         LayoutParams layoutParams =
                 new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
         this.setLayoutParams(layoutParams);
@@ -31,23 +35,17 @@ public class FoldingCellView extends RelativeLayout {
         LayoutParams layoutParams =
                 new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
 
+        this.setAlignBottom(true);
         this.setClipToPadding(false);
         this.setClipChildren(false);
 
         if (mBackView != null) {
             this.addView(mBackView);
-            LayoutParams mBackViewParams = (LayoutParams) mBackView.getLayoutParams();
-            mBackViewParams.addRule(RelativeLayout.ALIGN_PARENT_BOTTOM);
-            mBackView.setLayoutParams(mBackViewParams);
-            layoutParams.height = mBackViewParams.height;
+            layoutParams.height = mBackView.getLayoutParams().height;
         }
 
-        if (mFrontView != null) {
+        if (mFrontView != null)
             this.addView(mFrontView);
-            LayoutParams frontViewLayoutParams = (LayoutParams) mFrontView.getLayoutParams();
-            frontViewLayoutParams.addRule(RelativeLayout.ALIGN_PARENT_BOTTOM);
-            mFrontView.setLayoutParams(frontViewLayoutParams);
-        }
 
         this.setLayoutParams(layoutParams);
     }
@@ -55,12 +53,8 @@ public class FoldingCellView extends RelativeLayout {
     public FoldingCellView withFrontView(View frontView) {
         this.mFrontView = frontView;
 
-        if (mFrontView != null) {
+        if (mFrontView != null)
             this.addView(mFrontView);
-            LayoutParams frontViewLayoutParams = (LayoutParams) mFrontView.getLayoutParams();
-            frontViewLayoutParams.addRule(RelativeLayout.ALIGN_PARENT_BOTTOM);
-            mFrontView.setLayoutParams(frontViewLayoutParams);
-        }
         return this;
     }
 
@@ -69,18 +63,27 @@ public class FoldingCellView extends RelativeLayout {
 
         if (mBackView != null) {
             this.addView(mBackView);
-            LayoutParams mBackViewParams = (LayoutParams) mBackView.getLayoutParams();
-            mBackViewParams.addRule(RelativeLayout.ALIGN_PARENT_BOTTOM);
-            mBackView.setLayoutParams(mBackViewParams);
 
-            LayoutParams layoutParams = (LayoutParams) this.getLayoutParams();
-            layoutParams.height = mBackViewParams.height;
+            // params of reused view are converted by its previous container, so any type is accepted
+            ViewGroup.LayoutParams layoutParams = this.getLayoutParams();
+            layoutParams.height = mBackView.getLayoutParams().height;
             this.setLayoutParams(layoutParams);
         }
 
         return this;
     }
 
+    /**
+     * Remove front and back views and rotation, so view can be reused for other part
+     */
+    public FoldingCellView reset() {
+        this.removeAllViews();
+        this.mFrontView = null;
+        this.mBackView = null;
+        this.setRotationX(0);
+        return this;
+    }
+
     public View getBackView() {
         return mBackView;
     }
@@ -94,4 +97,32 @@ public class FoldingCellView extends RelativeLayout {
             mFrontView.startAnimation(animation);
     }
 
+    /**
+     * Rotate whole view around its top edge and front view around its bottom edge,
+     * same way as {@link com.ramotion.foldingcell.animations.FoldAnimation} does
+     *
+     * @param angle      rotation of whole view
+     * @param frontAngle rotation of front view
+     */
+    public void setFoldAngles(float angle, float frontAngle) {
+        this.setRotationX(angle);
+        if (mFrontView != null)
+            mFrontView.setRotationX(frontAngle);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        super.onLayout(changed, l, t, r, b);
+        // pivots and perspective for fold rotation
+        float cameraDistance = CAMERA_DISTANCE * getResources().getDisplayMetrics().densityDpi;
+        this.setCameraDistance(cameraDistance);
+        this.setPivotX(getWidth() / 2);
+        this.setPivotY(0);
+        if (mFrontView != null) {
+            mFrontView.setCameraDistance(cameraDistance);
+            mFrontView.setPivotX(mFrontView.getWidth() / 2);
+            mFrontView.setPivotY(mFrontView.getHeight());
+        }
+    }
+
 }
@@ -0,0 +1,138 @@
+package com.ramotion.foldingcell.views;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Lightweight base of folding cell layouts: children are stacked over each other in order of adding,
+ * aligned to top or bottom edge of layout. Each visible child is measured exactly once per measure pass,
+ * unlike RelativeLayout that measures children twice to resolve rules.
+ */
+public class StackLayout extends ViewGroup {
+
+    private boolean mAlignBottom;
+
+    public StackLayout(Context context) {
+        super(context);
+    }
+
+    public StackLayout(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public StackLayout(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    /**
+     * @param alignBottom true to align children to bottom edge of layout, false to align them to top edge
+     */
+    protected void setAlignBottom(boolean alignBottom) {
+        if (this.mAlignBottom != alignBottom) {
+            this.mAlignBottom = alignBottom;
+            requestLayout();
+        }
+    }
+
+    public boolean isAlignBottom() {
+        return mAlignBottom;
+    }
+
+    /**
+     * Layout wraps the biggest of its visible children, children that are GONE are not measured
+     */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int maxWidth = 0;
+        int maxHeight = 0;
+        int childState = 0;
+        final int count = getChildCount();
+        for (int i = 0; i < count; i++) {
+            final View child = getChildAt(i);
+            if (child.getVisibility() == GONE)
+                continue;
+            measureChildWithMargins(child, widthMeasureSpec, 0, heightMeasureSpec, 0);
+            final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+            maxWidth = Math.max(maxWidth, child.getMeasuredWidth() + lp.leftMargin + lp.rightMargin);
+            maxHeight = Math.max(maxHeight, child.getMeasuredHeight() + lp.topMargin + lp.bottomMargin);
+            childState = combineMeasuredStates(childState, child.getMeasuredState());
+        }
+
+        maxWidth = Math.max(maxWidth + getPaddingLeft() + getPaddingRight(), getSuggestedMinimumWidth());
+        maxHeight = Math.max(maxHeight + getPaddingTop() + getPaddingBottom(), getSuggestedMinimumHeight());
+        setMeasuredDimension(resolveSizeAndState(maxWidth, widthMeasureSpec, childState),
+                resolveSizeAndState(maxHeight, heightMeasureSpec, childState << MEASURED_HEIGHT_STATE_SHIFT));
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        final int bottom = b - t - getPaddingBottom();
+        final int count = getChildCount();
+        for (int i = 0; i < count; i++) {
+            final View child = getChildAt(i);
+            if (child.getVisibility() == GONE)
+                continue;
+            final LayoutParams lp = (LayoutParams) child.getLayoutParams();
+            final int width = child.getMeasuredWidth();
+            final int height = child.getMeasuredHeight();
+            final int childLeft = getPaddingLeft() + lp.leftMargin;
+            final int childTop = mAlignBottom
+                    ? bottom - lp.bottomMargin - height
+                    : getPaddingTop() + lp.topMargin;
+            child.layout(childLeft, childTop, childLeft + width, childTop + height);
+        }
+    }
+
+    @Override
+    public boolean shouldDelayChildPressedState() {
+        return false;
+    }
+
+    @Override
+    protected boolean checkLayoutParams(ViewGroup.LayoutParams p) {
+        return p instanceof LayoutParams;
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public LayoutParams generateLayoutParams(AttributeSet attrs) {
+        return new LayoutParams(getContext(), attrs);
+    }
+
+    @Override
+    protected LayoutParams generateLayoutParams(ViewGroup.LayoutParams p) {
+        if (p instanceof MarginLayoutParams)
+            return new LayoutParams((MarginLayoutParams) p);
+        return new LayoutParams(p);
+    }
+
+    /**
+     * Layout params of stacked children, only size and margins are used
+     */
+    public static class LayoutParams extends MarginLayoutParams {
+
+        public LayoutParams(Context c, AttributeSet attrs) {
+            super(c, attrs);
+        }
+
+        public LayoutParams(int width, int height) {
+            super(width, height);
+        }
+
+        public LayoutParams(ViewGroup.LayoutParams source) {
+            super(source);
+        }
+
+        public LayoutParams(MarginLayoutParams source) {
+            super(source);
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.ramotion.foldingcell.views;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+
+/**
+ * View that draws rectangular region of another view's current rendering without bitmaps,
+ * window onto live title or content view for hardware layer fold mode.
+ * Source view must be measured and laid out, it is not added to this view.
+ */
+public class ViewRegionView extends View {
+
+    private final View mSourceView;
+    private final int mTop;
+    private final int mHeight;
+
+    /**
+     * @param sourceView view to draw
+     * @param top        top offset of region in source view
+     * @param height     height of region, region always covers full width of source view
+     * @param context    context
+     */
+    public ViewRegionView(View sourceView, int top, int height, Context context) {
+        super(context);
+        if (sourceView == null)
+            throw new IllegalArgumentException("Source view must be not null");
+        this.mSourceView = sourceView;
+        this.mTop = top;
+        this.mHeight = height;
+    }
+
+    public View getSourceView() {
+        return mSourceView;
+    }
+
+    public int getRegionTop() {
+        return mTop;
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        setMeasuredDimension(resolveSize(mSourceView.getWidth(), widthMeasureSpec), mHeight);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        int saveCount = canvas.save();
+        canvas.clipRect(0, 0, getWidth(), getHeight());
+        canvas.translate(-mSourceView.getScrollX(), -mTop - mSourceView.getScrollY());
+        mSourceView.draw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.animations.FoldFrameScheduler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FoldFrameSchedulerUnitTest {
+
+    private static final float DELTA = 0.0001f;
+
+    /**
+     * Default cell with 3 parts: 1000 ms / 6 = 166.67 ms per segment, 4 segments
+     */
+    @Test
+    public void framesForRefreshRates() throws Exception {
+        FoldFrameScheduler scheduler60 = new FoldFrameScheduler(1000f / 6, 4, 60);
+        assertEquals(10, scheduler60.getFramesPerSegment());
+        assertEquals(40, scheduler60.getFramesCount());
+        assertEquals(667, scheduler60.getDurationMillis());
+
+        FoldFrameScheduler scheduler90 = new FoldFrameScheduler(1000f / 6, 4, 90);
+        assertEquals(15, scheduler90.getFramesPerSegment());
+        assertEquals(60, scheduler90.getFramesCount());
+        assertEquals(667, scheduler90.getDurationMillis());
+
+        FoldFrameScheduler scheduler120 = new FoldFrameScheduler(1000f / 6, 4, 120);
+        assertEquals(20, scheduler120.getFramesPerSegment());
+        assertEquals(80, scheduler120.getFramesCount());
+    }
+
+    /**
+     * Duration is not truncated by integer division of parts count
+     */
+    @Test
+    public void durationIsMultipleOfFrameInterval() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(1000f / 14, 12, 60);
+        assertEquals(4, scheduler.getFramesPerSegment());
+        assertEquals(48, scheduler.getFramesCount());
+        assertEquals(800, scheduler.getDurationMillis());
+    }
+
+    @Test
+    public void atLeastOneFramePerSegment() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(1, 6, 60);
+        assertEquals(1, scheduler.getFramesPerSegment());
+        assertEquals(6, scheduler.getFramesCount());
+    }
+
+    @Test
+    public void unknownRefreshRateUsesDefault() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(100, 2, 0);
+        assertEquals(1000f / FoldFrameScheduler.DEFAULT_REFRESH_RATE, scheduler.getFrameIntervalMillis(), DELTA);
+    }
+
+    /**
+     * Frames follow elapsed time while they do not jump over segment boundary
+     */
+    @Test
+    public void framesFollowTime() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(1000f / 6, 4, 60);
+        assertEquals(0, scheduler.getFrame(0, 0));
+        assertEquals(1, scheduler.getFrame(0.025f, 0));
+        assertEquals(10, scheduler.getFrame(0.25f, 9));
+        assertEquals(13, scheduler.getFrame(0.325f, 10));
+        assertEquals(0.25f, scheduler.getFraction(10), DELTA);
+    }
+
+    /**
+     * Dropped frames do not skip boundary frame of segment in both directions
+     */
+    @Test
+    public void boundaryFrameIsNotSkipped() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(1000f / 6, 4, 60);
+        // time jumped from frame 8 to frame 14, boundary 10 is shown first
+        assertEquals(10, scheduler.getFrame(0.35f, 8));
+        // next frame continues from time position
+        assertEquals(15, scheduler.getFrame(0.375f, 10));
+        // reversed animation jumped from frame 22 to frame 17, boundary 20 is shown first
+        assertEquals(20, scheduler.getFrame(0.425f, 22));
+        assertEquals(17, scheduler.getFrame(0.425f, 20));
+    }
+
+    /**
+     * Last frame is always reached, so animation ends in final state
+     */
+    @Test
+    public void endFramesAreNotDelayed() throws Exception {
+        FoldFrameScheduler scheduler = new FoldFrameScheduler(1000f / 6, 4, 60);
+        assertEquals(40, scheduler.getFrame(1, 25));
+        assertEquals(0, scheduler.getFrame(0, 15));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroSegmentsCount() throws Exception {
+        new FoldFrameScheduler(100, 0, 60);
+    }
+
+}
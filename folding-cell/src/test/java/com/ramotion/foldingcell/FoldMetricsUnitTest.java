@@ -0,0 +1,78 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.metrics.FoldMetrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FoldMetricsUnitTest {
+
+    private static final long MS = 1000000L;
+
+    /**
+     * Durations of phases are intervals between marks from start of animation
+     */
+    @Test
+    public void phases() throws Exception {
+        FoldMetrics metrics = new FoldMetrics(true, 16 * MS);
+        metrics.markStart(1000 * MS);
+        metrics.markCaptureEnd(1004 * MS);
+        metrics.markSlicingEnd(1005 * MS);
+        // frame during setup is start progress, it is not counted
+        metrics.markFrame(1006 * MS);
+        metrics.markSetupEnd(1007 * MS);
+        metrics.markFrame(1020 * MS);
+        metrics.markFrame(1036 * MS);
+        metrics.markEnd(1040 * MS);
+
+        assertTrue(metrics.isUnfold());
+        assertFalse(metrics.isReversed());
+        assertEquals(4 * MS, metrics.getCaptureNanos());
+        assertEquals(1 * MS, metrics.getSlicingNanos());
+        assertEquals(2 * MS, metrics.getViewSetupNanos());
+        assertEquals(20 * MS, metrics.getFirstFrameNanos());
+        assertEquals(40 * MS, metrics.getTotalNanos());
+        assertEquals(2, metrics.getFramesCount());
+        assertEquals(0, metrics.getDroppedFramesCount());
+    }
+
+    /**
+     * Gaps between frames longer than frame interval are counted as dropped frames
+     */
+    @Test
+    public void droppedFrames() throws Exception {
+        FoldMetrics metrics = new FoldMetrics(false, 16 * MS);
+        metrics.markStart(0);
+        metrics.markSetupEnd(1 * MS);
+        metrics.markFrame(16 * MS);
+        // small jitter is not a dropped frame
+        metrics.markFrame(35 * MS);
+        // two frames missed
+        metrics.markFrame(83 * MS);
+        metrics.markFrame(99 * MS);
+        metrics.markReversed();
+
+        assertFalse(metrics.isUnfold());
+        assertTrue(metrics.isReversed());
+        assertEquals(4, metrics.getFramesCount());
+        assertEquals(2, metrics.getDroppedFramesCount());
+    }
+
+    @Test
+    public void noFrames() throws Exception {
+        FoldMetrics metrics = new FoldMetrics(true, FoldMetrics.DEFAULT_FRAME_INTERVAL_NANOS);
+        metrics.markStart(5 * MS);
+        metrics.markSetupEnd(6 * MS);
+        assertEquals(0, metrics.getFirstFrameNanos());
+        assertEquals(0, metrics.getFramesCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongFrameInterval() throws Exception {
+        new FoldMetrics(true, 0);
+    }
+
+}
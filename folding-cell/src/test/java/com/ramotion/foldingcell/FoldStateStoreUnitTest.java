@@ -0,0 +1,80 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.adapters.FoldStateStore;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FoldStateStoreUnitTest {
+
+    /**
+     * Ids are added, toggled and removed, zero and negative ids are ordinary ids
+     */
+    @Test
+    public void addRemoveToggle() throws Exception {
+        FoldStateStore store = new FoldStateStore();
+        assertTrue(store.isEmpty());
+        assertTrue(store.add(0));
+        assertTrue(store.add(-5));
+        assertTrue(store.add(Long.MAX_VALUE));
+        assertFalse(store.add(-5));
+        assertEquals(3, store.size());
+        assertTrue(store.contains(0));
+        assertFalse(store.contains(5));
+
+        assertFalse(store.toggle(0));
+        assertFalse(store.contains(0));
+        assertTrue(store.toggle(0));
+        assertTrue(store.contains(0));
+
+        assertTrue(store.remove(-5));
+        assertFalse(store.remove(-5));
+        assertEquals(2, store.size());
+
+        long[] ids = store.toArray();
+        Arrays.sort(ids);
+        assertArrayEquals(new long[]{0, Long.MAX_VALUE}, ids);
+
+        FoldStateStore restored = new FoldStateStore(1);
+        restored.addAll(ids);
+        assertTrue(restored.contains(0));
+        assertTrue(restored.contains(Long.MAX_VALUE));
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertFalse(store.contains(Long.MAX_VALUE));
+    }
+
+    /**
+     * Store behaves as set of longs after many random changes with collisions and resizes
+     */
+    @Test
+    public void sameAsHashSet() throws Exception {
+        FoldStateStore store = new FoldStateStore();
+        HashSet<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextBoolean())
+                assertEquals(expected.add(id), store.add(id));
+            else
+                assertEquals(expected.remove(id), store.remove(id));
+        }
+        assertEquals(expected.size(), store.size());
+        for (long id = 0; id < 500; id++)
+            assertEquals(expected.contains(id), store.contains(id));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeExpectedSize() throws Exception {
+        new FoldStateStore(-1);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FoldTimelineUnitTest {
+
+    private static final float DELTA = 0.001f;
+
+    /**
+     * Folded state - all parts except first are hidden, front views are not rotated,
+     * unfolded state - all parts are open, all front views are folded down
+     */
+    @Test
+    public void boundaryStates() throws Exception {
+        FoldTimeline timeline = new FoldTimeline(new int[]{50, 50, 30}, true);
+        assertEquals(4, timeline.getSegmentsCount());
+        assertEquals(130, timeline.getTotalHeight());
+
+        assertEquals(0, timeline.getPartAngle(0, 0), DELTA);
+        assertEquals(90, timeline.getPartAngle(1, 0), DELTA);
+        assertEquals(90, timeline.getPartAngle(2, 0), DELTA);
+        assertEquals(0, timeline.getFrontAngle(0, 0), DELTA);
+        assertEquals(0, timeline.getFrontAngle(1, 0), DELTA);
+        assertEquals(50, timeline.getHeight(0));
+
+        assertEquals(0, timeline.getPartAngle(1, 1), DELTA);
+        assertEquals(0, timeline.getPartAngle(2, 1), DELTA);
+        assertEquals(-90, timeline.getFrontAngle(0, 1), DELTA);
+        assertEquals(-90, timeline.getFrontAngle(1, 1), DELTA);
+        // last part has no front view
+        assertEquals(0, timeline.getFrontAngle(2, 1), DELTA);
+        assertEquals(130, timeline.getHeight(1));
+    }
+
+    /**
+     * Segments are eased same way as FoldAnimation with DecelerateInterpolator in running direction
+     */
+    @Test
+    public void segmentsEasing() throws Exception {
+        FoldTimeline unfoldTimeline = new FoldTimeline(new int[]{50, 50, 30}, true);
+        // middle of first segment - front view of first part
+        assertEquals(-67.5f, unfoldTimeline.getFrontAngle(0, 0.125f), DELTA);
+        assertEquals(90, unfoldTimeline.getPartAngle(1, 0.125f), DELTA);
+        // middle of second segment - second part
+        assertEquals(-90, unfoldTimeline.getFrontAngle(0, 0.375f), DELTA);
+        assertEquals(22.5f, unfoldTimeline.getPartAngle(1, 0.375f), DELTA);
+        // middle of first height block
+        assertEquals(87, unfoldTimeline.getHeight(0.25f));
+
+        FoldTimeline foldTimeline = new FoldTimeline(new int[]{50, 50, 30}, false);
+        assertEquals(-22.5f, foldTimeline.getFrontAngle(0, 0.125f), DELTA);
+        assertEquals(67.5f, foldTimeline.getPartAngle(1, 0.375f), DELTA);
+        assertEquals(62, foldTimeline.getHeight(0.25f));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notEnoughParts() throws Exception {
+        new FoldTimeline(new int[]{50}, true);
+    }
+
+}
@@ -10,7 +10,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(MockitoJUnitRunner.class)
 public class HeightsCalculationUnitTest {
@@ -66,4 +68,44 @@ public class HeightsCalculationUnitTest {
         fc.calculateHeightsForAnimationParts(50, 201, 2);
     }
 
-}
\ No newline at end of file
+    /**
+     * Array form returns same heights as list form for both dividing logics
+     */
+    @Test
+    public void arrayForm() throws Exception {
+        FoldingCell fc = new FoldingCell(mMockContext);
+
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50, 50, 30},
+                fc.calculateHeightsForAnimationParts(50, 180, 0, null));
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50},
+                fc.calculateHeightsForAnimationParts(50, 100, 0, null));
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50, 50},
+                fc.calculateHeightsForAnimationParts(50, 150, 0, null));
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50, 31, 30},
+                fc.calculateHeightsForAnimationParts(50, 161, 2, null));
+    }
+
+    /**
+     * Buffer is reused only if its length is equal to parts count
+     */
+    @Test
+    public void arrayFormBufferReuse() throws Exception {
+        FoldingCell fc = new FoldingCell(mMockContext);
+
+        int[] buffer = new int[4];
+        int[] actualHeights1 = fc.calculateHeightsForAnimationParts(50, 160, 2, buffer);
+        assertSame(buffer, actualHeights1);
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50, 30, 30}, actualHeights1);
+
+        int[] actualHeights2 = fc.calculateHeightsForAnimationParts(50, 100, 0, buffer);
+        assertEquals(2, actualHeights2.length);
+        assertArrayEquals("Heights array is not correct", new int[]{50, 50, 30, 30}, buffer);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void arrayFormError() throws Exception {
+        FoldingCell fc = new FoldingCell(mMockContext);
+        fc.calculateHeightsForAnimationParts(50, 201, 2, null);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.ramotion.foldingcell;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.widget.ImageView;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PanelRasterizerUnitTest {
+
+    @Mock
+    private Context mMockContext;
+
+    @Mock
+    private Bitmap mContentBitmap;
+
+    @Mock
+    private ImageView mPartView;
+
+    /**
+     * Five parts unfold in 8 segments: part 1 appears after 1/8 of progress, part 4 after 7/8.
+     * Without frame budget parts are copied only when they become visible.
+     */
+    @Test
+    public void partsAreCopiedBeforeTheyBecomeVisible() throws Exception {
+        FoldTimeline timeline = new FoldTimeline(new int[]{50, 50, 50, 50, 50}, true);
+        PanelRasterizer rasterizer = new PanelRasterizer(new FoldingCell(mMockContext), mContentBitmap, timeline, 0);
+        for (int i = 1; i < timeline.getPartsCount(); i++)
+            rasterizer.addPanel(i, mPartView, i * 50, 50);
+        rasterizer.setLookahead(0.05f);
+
+        rasterizer.onFoldProgress(0);
+        assertEquals(4, rasterizer.getPendingCount());
+        // part 1 becomes visible within lookahead
+        rasterizer.onFoldProgress(0.1f);
+        assertEquals(3, rasterizer.getPendingCount());
+        rasterizer.onFoldProgress(0.3f);
+        assertEquals(3, rasterizer.getPendingCount());
+        // part 2 appears after 3/8, part 3 after 5/8
+        rasterizer.onFoldProgress(0.6f);
+        assertEquals(1, rasterizer.getPendingCount());
+        rasterizer.onFoldProgress(1);
+        assertEquals(0, rasterizer.getPendingCount());
+    }
+
+    /**
+     * Jump to the end of animation copies all remaining parts on one frame
+     */
+    @Test
+    public void endOfAnimationCopiesAllParts() throws Exception {
+        FoldTimeline timeline = new FoldTimeline(new int[]{50, 50, 50, 50}, true);
+        PanelRasterizer rasterizer = new PanelRasterizer(new FoldingCell(mMockContext), mContentBitmap, timeline, 0);
+        for (int i = 1; i < timeline.getPartsCount(); i++)
+            rasterizer.addPanel(i, mPartView, i * 50, 50);
+
+        rasterizer.onFoldProgress(1);
+        assertEquals(0, rasterizer.getPendingCount());
+    }
+
+    /**
+     * Released rasterizer has no pending parts and ignores progress of animation
+     */
+    @Test
+    public void releasedRasterizerCopiesNothing() throws Exception {
+        FoldTimeline timeline = new FoldTimeline(new int[]{50, 50, 50, 50}, true);
+        PanelRasterizer rasterizer = new PanelRasterizer(new FoldingCell(mMockContext), mContentBitmap, timeline, 0);
+        for (int i = 1; i < timeline.getPartsCount(); i++)
+            rasterizer.addPanel(i, mPartView, i * 50, 50);
+
+        rasterizer.release();
+        assertEquals(0, rasterizer.getPendingCount());
+        rasterizer.onFoldProgress(1);
+        assertEquals(0, rasterizer.getPendingCount());
+    }
+
+    /**
+     * Animation ended in the middle applies its final progress after skip listeners,
+     * parts that are not copied yet are dropped instead of copying all of them on the last frame
+     */
+    @Test
+    public void skippedAnimationCopiesNoFurtherParts() throws Exception {
+        FoldTimeline timeline = new FoldTimeline(new int[]{50, 50, 50, 50, 50}, true);
+        PanelRasterizer rasterizer = new PanelRasterizer(new FoldingCell(mMockContext), mContentBitmap, timeline, 0);
+        for (int i = 1; i < timeline.getPartsCount(); i++)
+            rasterizer.addPanel(i, mPartView, i * 50, 50);
+
+        rasterizer.onFoldProgress(0.2f);
+        assertEquals(3, rasterizer.getPendingCount());
+        rasterizer.onFoldSkipped(null);
+        rasterizer.onFoldProgress(1);
+        assertEquals(0, rasterizer.getPendingCount());
+        verify(mPartView, times(1)).setImageBitmap(any(Bitmap.class));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.ramotion.foldingcell;
+
+import com.ramotion.foldingcell.animations.RotationMatrixTable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RotationMatrixTableUnitTest {
+
+    private static final float CAMERA_DISTANCE = 576;
+
+    /**
+     * Perspective rotation around X axis, same form as matrix of android.graphics.Camera
+     */
+    private static final RotationMatrixTable.Source SOURCE = new RotationMatrixTable.Source() {
+        @Override
+        public void getRotationMatrix(float degrees, float[] values) {
+            double radians = Math.toRadians(degrees);
+            values[0] = 1;
+            values[1] = 0;
+            values[2] = 0;
+            values[3] = 0;
+            values[4] = (float) Math.cos(radians);
+            values[5] = 0;
+            values[6] = 0;
+            values[7] = (float) Math.sin(radians) / CAMERA_DISTANCE;
+            values[8] = 1;
+        }
+    };
+
+    /**
+     * Exact rotation with pivot: T(center) * R * T(-center)
+     */
+    private static float[] exactMatrix(float degrees, float centerX, float centerY) {
+        float[] r = new float[9];
+        SOURCE.getRotationMatrix(degrees, r);
+        float[] t = {1, 0, centerX, 0, 1, centerY, 0, 0, 1};
+        float[] tInv = {1, 0, -centerX, 0, 1, -centerY, 0, 0, 1};
+        return multiply(multiply(t, r), tInv);
+    }
+
+    private static float[] multiply(float[] a, float[] b) {
+        float[] result = new float[9];
+        for (int row = 0; row < 3; row++)
+            for (int col = 0; col < 3; col++)
+                for (int k = 0; k < 3; k++)
+                    result[row * 3 + col] += a[row * 3 + k] * b[k * 3 + col];
+        return result;
+    }
+
+    private static void assertMatrixEquals(float[] expected, float[] actual, float delta) {
+        for (int i = 0; i < 9; i++)
+            assertEquals("value " + i, expected[i], actual[i], Math.max(delta, Math.abs(expected[i]) * delta));
+    }
+
+    /**
+     * Table entries with pivot give same matrix as camera rotation with pre and post translations
+     */
+    @Test
+    public void quantizedAngles() throws Exception {
+        RotationMatrixTable table = new RotationMatrixTable(RotationMatrixTable.DEFAULT_STEP_DEGREES, SOURCE);
+        assertEquals(361, table.getEntriesCount());
+        float[] values = new float[RotationMatrixTable.MATRIX_SIZE];
+        for (float degrees : new float[]{-90, -45, 0, 30.5f, 90}) {
+            table.getMatrixValues(degrees, 540, 250, values);
+            assertMatrixEquals(exactMatrix(degrees, 540, 250), values, 1e-4f);
+        }
+    }
+
+    /**
+     * Angles between entries are interpolated with small error, angles out of range are clamped
+     */
+    @Test
+    public void interpolatedAngles() throws Exception {
+        RotationMatrixTable table = new RotationMatrixTable(RotationMatrixTable.DEFAULT_STEP_DEGREES, SOURCE);
+        float[] values = new float[RotationMatrixTable.MATRIX_SIZE];
+        for (float degrees = -89.9f; degrees < 90; degrees += 1.37f) {
+            table.getMatrixValues(degrees, 540, 0, values);
+            assertMatrixEquals(exactMatrix(degrees, 540, 0), values, 1e-3f);
+        }
+        table.getMatrixValues(120, 540, 0, values);
+        assertMatrixEquals(exactMatrix(90, 540, 0), values, 1e-4f);
+        table.getMatrixValues(-120, 540, 0, values);
+        assertMatrixEquals(exactMatrix(-90, 540, 0), values, 1e-4f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongStep() throws Exception {
+        new RotationMatrixTable(0, SOURCE);
+    }
+
+}
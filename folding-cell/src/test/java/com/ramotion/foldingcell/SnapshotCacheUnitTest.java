@@ -0,0 +1,215 @@
+package com.ramotion.foldingcell;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.view.View;
+
+import com.ramotion.foldingcell.pools.BitmapPool;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SnapshotCacheUnitTest {
+
+    private static final int WIDTH = 1080;
+    private static final int TITLE_HEIGHT = 250;
+    private static final int CONTENT_HEIGHT = 1000;
+
+    @Mock
+    private Context mMockContext;
+
+    /**
+     * Pool that counts bitmaps it hands out and gives mocks of requested size
+     */
+    private static class RecordingBitmapPool extends BitmapPool {
+
+        int mHandedOutCount;
+
+        RecordingBitmapPool() {
+            super(0);
+        }
+
+        @Override
+        public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+            mHandedOutCount++;
+            Bitmap bitmap = mock(Bitmap.class);
+            when(bitmap.getWidth()).thenReturn(width);
+            when(bitmap.getHeight()).thenReturn(height);
+            return bitmap;
+        }
+    }
+
+    /**
+     * Cell with mocked content and title views, pictures of views are mocks of the same size
+     */
+    private static class TestCell extends FoldingCell {
+
+        private final View mContentView;
+        private final View mTitleView;
+
+        TestCell(Context context, View contentView, View titleView) {
+            super(context);
+            this.mContentView = contentView;
+            this.mTitleView = titleView;
+        }
+
+        @Override
+        public View getChildAt(int index) {
+            return index == 0 ? mContentView : index == 1 ? mTitleView : null;
+        }
+
+        @Override
+        public int indexOfChild(View child) {
+            return child == mContentView ? 0 : child == mTitleView ? 1 : -1;
+        }
+
+        @Override
+        public int getChildCount() {
+            return 2;
+        }
+
+        @Override
+        public int getMeasuredWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        protected Picture getPictureFromView(View view, int parentWidth) {
+            measureAndLayoutView(view, parentWidth);
+            int width = view.getWidth();
+            int height = view.getHeight();
+            Picture picture = mock(Picture.class);
+            when(picture.getWidth()).thenReturn(width);
+            when(picture.getHeight()).thenReturn(height);
+            return picture;
+        }
+    }
+
+    private static View mockView(int height) {
+        View view = mock(View.class);
+        when(view.getWidth()).thenReturn(WIDTH);
+        when(view.getHeight()).thenReturn(height);
+        when(view.getMeasuredWidth()).thenReturn(WIDTH);
+        when(view.getMeasuredHeight()).thenReturn(height);
+        return view;
+    }
+
+    /**
+     * Hidden view keeps layout request of its visibility change, visible view is laid out
+     */
+    private static void setShown(View view, boolean shown) {
+        when(view.getVisibility()).thenReturn(shown ? View.VISIBLE : View.GONE);
+        when(view.isLayoutRequested()).thenReturn(!shown);
+    }
+
+    /**
+     * Capture views as fold (content is shown) or unfold (title is shown) does
+     */
+    private static Bitmap[] capture(FoldingCell fc, View titleView, View contentView, boolean unfold, boolean liveViews) {
+        setShown(titleView, unfold);
+        setShown(contentView, !unfold);
+        return fc.captureViewsForAnimation(titleView, contentView, liveViews);
+    }
+
+    @Test
+    public void cachedSnapshotsAreReusedByFoldAndUnfold() throws Exception {
+        View titleView = mockView(TITLE_HEIGHT);
+        View contentView = mockView(CONTENT_HEIGHT);
+        TestCell fc = new TestCell(mMockContext, contentView, titleView);
+        RecordingBitmapPool pool = new RecordingBitmapPool();
+        fc.setBitmapPool(pool);
+        fc.setSnapshotCacheEnabled(true);
+
+        Bitmap[] snapshots = capture(fc, titleView, contentView, false, false);
+        for (int i = 0; i < 3; i++) {
+            Bitmap[] cached = capture(fc, titleView, contentView, i % 2 == 0, false);
+            assertSame(snapshots[0], cached[0]);
+            assertSame(snapshots[1], cached[1]);
+        }
+        assertEquals(2, pool.mHandedOutCount);
+        verify(titleView, times(1)).draw(any(Canvas.class));
+        verify(contentView, times(1)).draw(any(Canvas.class));
+    }
+
+    @Test
+    public void visibleViewWithLayoutRequestIsCapturedAgain() throws Exception {
+        View titleView = mockView(TITLE_HEIGHT);
+        View contentView = mockView(CONTENT_HEIGHT);
+        TestCell fc = new TestCell(mMockContext, contentView, titleView);
+        RecordingBitmapPool pool = new RecordingBitmapPool();
+        fc.setBitmapPool(pool);
+        fc.setSnapshotCacheEnabled(true);
+
+        capture(fc, titleView, contentView, true, false);
+        // title changed its size while it was shown
+        setShown(contentView, false);
+        when(titleView.getVisibility()).thenReturn(View.VISIBLE);
+        when(titleView.isLayoutRequested()).thenReturn(true);
+        fc.captureViewsForAnimation(titleView, contentView, false);
+        assertEquals(3, pool.mHandedOutCount);
+        verify(contentView, times(1)).draw(any(Canvas.class));
+    }
+
+    @Test
+    public void preparedSnapshotsAreUsedByUnfold() throws Exception {
+        View titleView = mockView(TITLE_HEIGHT);
+        View contentView = mockView(CONTENT_HEIGHT);
+        TestCell fc = new TestCell(mMockContext, contentView, titleView);
+        RecordingBitmapPool pool = new RecordingBitmapPool();
+        fc.setBitmapPool(pool);
+        final Runnable[] tasks = new Runnable[1];
+        fc.setSnapshotExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks[0] = command;
+            }
+        });
+
+        // folded cell shows its title
+        setShown(titleView, true);
+        setShown(contentView, false);
+        fc.prepareSnapshots();
+        SnapshotRenderTask task = (SnapshotRenderTask) tasks[0];
+        task.run();
+        fc.onSnapshotsRendered(task);
+
+        Bitmap[] snapshots = capture(fc, titleView, contentView, true, false);
+        assertSame(task.getTitleBitmap(), snapshots[0]);
+        assertSame(task.getContentBitmap(), snapshots[1]);
+        assertEquals(2, pool.mHandedOutCount);
+        verify(titleView, never()).draw(any(Canvas.class));
+        verify(contentView, never()).draw(any(Canvas.class));
+    }
+
+    @Test
+    public void repeatedUnfoldDoesNotMeasureViews() throws Exception {
+        View titleView = mockView(TITLE_HEIGHT);
+        View contentView = mockView(CONTENT_HEIGHT);
+        TestCell fc = new TestCell(mMockContext, contentView, titleView);
+
+        for (int i = 0; i < 4; i++)
+            capture(fc, titleView, contentView, i % 2 == 1, true);
+        verify(titleView, times(1)).measure(anyInt(), anyInt());
+        verify(contentView, times(1)).measure(anyInt(), anyInt());
+        assertEquals(TITLE_HEIGHT, fc.getFoldedHeight(WIDTH));
+        assertEquals(CONTENT_HEIGHT, fc.getUnfoldedHeight(WIDTH));
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.ramotion.foldingcell;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.view.View;
+
+import com.ramotion.foldingcell.animations.FoldTimeline;
+import com.ramotion.foldingcell.pools.BitmapPool;
+import com.ramotion.foldingcell.pools.FoldViewPool;
+import com.ramotion.foldingcell.views.FoldingCellView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SnapshotMemoryUnitTest {
+
+    private static final int WIDTH = 1080;
+    private static final int TITLE_HEIGHT = 250;
+    private static final int CONTENT_HEIGHT = 1000;
+
+    @Mock
+    private Context mMockContext;
+
+    /**
+     * Pool that counts bytes of bitmaps it hands out and gives mocks of requested size
+     */
+    private static class RecordingBitmapPool extends BitmapPool {
+
+        int mHandedOutBytes;
+
+        RecordingBitmapPool() {
+            super(0);
+        }
+
+        @Override
+        public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+            mHandedOutBytes += width * height * getBytesPerPixel(config);
+            Bitmap bitmap = mock(Bitmap.class);
+            when(bitmap.getWidth()).thenReturn(width);
+            when(bitmap.getHeight()).thenReturn(height);
+            return bitmap;
+        }
+    }
+
+    /**
+     * Cell with views of fixed size, parts are not wrapped to FoldingCellViews
+     */
+    private FoldingCell createCell(final boolean hardwareLayerModeActive) {
+        FoldingCell fc = new FoldingCell(mMockContext) {
+            @Override
+            protected void measureAndLayoutView(View view, int parentWidth) {
+                // mocked views have their size
+            }
+
+            @Override
+            protected boolean isHardwareLayerModeActive() {
+                return hardwareLayerModeActive;
+            }
+        };
+        fc.setViewPool(new FoldViewPool() {
+            @Override
+            public FoldingCellView acquireFoldingCellView(View frontView, View backView, Context context) {
+                return null;
+            }
+        });
+        return fc;
+    }
+
+    private static View mockView(int width, int height) {
+        View view = mock(View.class);
+        when(view.getWidth()).thenReturn(width);
+        when(view.getHeight()).thenReturn(height);
+        return view;
+    }
+
+    /**
+     * Take snapshots and create animation parts as fold animation does
+     *
+     * @return bytes of bitmaps handed out by pool
+     */
+    private static int allocateAnimation(FoldingCell fc, int titleHeight, int contentHeight) {
+        RecordingBitmapPool pool = new RecordingBitmapPool();
+        fc.setBitmapPool(pool);
+        View titleView = mockView(WIDTH, titleHeight);
+        View contentView = mockView(WIDTH, contentHeight);
+        FoldTimeline timeline = new FoldTimeline(fc.calculateHeightsForAnimationParts(titleHeight, contentHeight, 0, null), false);
+        if (fc.isHardwareLayerModeActive()) {
+            fc.createLiveAnimationView(timeline, titleView, contentView);
+        } else {
+            Bitmap titleBitmap = fc.getBitmapFromView(titleView, WIDTH);
+            Bitmap contentBitmap = fc.getBitmapFromView(contentView, WIDTH);
+            fc.createAnimationView(timeline, titleBitmap, contentBitmap, fc.createPanelRasterizer(timeline, contentBitmap));
+        }
+        return pool.mHandedOutBytes;
+    }
+
+    /**
+     * Full resolution ARGB_8888 snapshots of title and content views, parts are regions of content snapshot
+     */
+    @Test
+    public void defaultQuality() throws Exception {
+        FoldingCell fc = createCell(false);
+        assertEquals(1080 * (250 + 1000) * 4, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(1080 * (250 + 1000) * 4, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+    }
+
+    /**
+     * RGB_565 takes half of memory, scale 0.5 takes quarter of memory
+     */
+    @Test
+    public void reducedQuality() throws Exception {
+        FoldingCell fc = createCell(false);
+        fc.setSnapshotConfig(Bitmap.Config.RGB_565);
+        assertEquals(1080 * (250 + 1000) * 2, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(1080 * (250 + 1000) * 2, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+
+        fc.setSnapshotConfig(Bitmap.Config.ARGB_8888);
+        fc.setSnapshotScale(0.5f);
+        assertEquals(540 * (125 + 500) * 4, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(540 * (125 + 500) * 4, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+    }
+
+    /**
+     * Without zero copy slicing each part is a downscaled copy of content region,
+     * sizes of parts are rounded in snapshot coordinates
+     */
+    @Test
+    public void copiedParts() throws Exception {
+        FoldingCell fc = createCell(false);
+        fc.setZeroCopySlicing(false);
+        assertEquals(1080 * (250 + 1000 + 1000) * 4, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(1080 * (250 + 1000 + 1000) * 4, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+
+        // parts 50, 50, 50, 30 are 17, 16, 17, 10 pixels high with scale 1/3
+        fc.initialize(1000, 0, 0, Bitmap.Config.RGB_565, 1 / 3f);
+        assertEquals(360 * (17 + 60 + 60) * 2, allocateAnimation(fc, 50, 180));
+        assertEquals(360 * (17 + 60 + 60) * 2, fc.getAnimationByteCount(WIDTH, 50, 180));
+    }
+
+    /**
+     * Single view draws regions of snapshots itself, parts are not copied
+     */
+    @Test
+    public void singleViewRenderMode() throws Exception {
+        FoldingCell fc = createCell(false);
+        fc.setZeroCopySlicing(false);
+        fc.setRenderMode(FoldingCell.RenderMode.SINGLE_VIEW);
+        assertEquals(1080 * (250 + 1000) * 4, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(1080 * (250 + 1000) * 4, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+    }
+
+    /**
+     * Parts of hardware layer mode draw live views, no bitmaps are taken from pool
+     */
+    @Test
+    public void hardwareLayerRenderMode() throws Exception {
+        FoldingCell fc = createCell(true);
+        fc.setZeroCopySlicing(false);
+        fc.setRenderMode(FoldingCell.RenderMode.HARDWARE_LAYER);
+        assertEquals(0, allocateAnimation(fc, TITLE_HEIGHT, CONTENT_HEIGHT));
+        assertEquals(0, fc.getAnimationByteCount(WIDTH, TITLE_HEIGHT, CONTENT_HEIGHT));
+    }
+
+    /**
+     * Cell without animation and cached snapshots holds no bitmaps, release of memory is safe at any moment
+     */
+    @Test
+    public void noHeldBytesWithoutAnimation() throws Exception {
+        FoldingCell fc = new FoldingCell(mMockContext);
+        assertEquals(0, fc.getHeldBytes());
+        fc.setSnapshotCacheEnabled(true);
+        fc.releaseMemory();
+        assertEquals(0, fc.getHeldBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongScale() throws Exception {
+        new FoldingCell(mMockContext).setSnapshotScale(1.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongConfig() throws Exception {
+        new FoldingCell(mMockContext).setSnapshotConfig(Bitmap.Config.ALPHA_8);
+    }
+
+}